@@ -0,0 +1,64 @@
+package cloud.catfish.admin.cache;
+
+import cloud.catfish.common.redis.CacheWarmUpSource;
+import cloud.catfish.mbg.mapper.UmsAdminMapper;
+import cloud.catfish.mbg.model.UmsAdmin;
+import cloud.catfish.mbg.model.UmsAdminExample;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 后台用户缓存预热，按ID顺序读取已启用的用户，key格式与UmsAdminCacheServiceImpl一致
+ * Created by catfish on 2026/10/19.
+ */
+@Component
+public class UmsAdminCacheWarmUpSource implements CacheWarmUpSource<UmsAdmin> {
+    @Autowired
+    private UmsAdminMapper adminMapper;
+    @Value("${redis.database}")
+    private String REDIS_DATABASE;
+    @Value("${redis.expire.common}")
+    private Long REDIS_EXPIRE;
+    @Value("${redis.key.admin}")
+    private String REDIS_KEY_ADMIN;
+
+    @Override
+    public String getName() {
+        return "admin";
+    }
+
+    @Override
+    public long count() {
+        return adminMapper.countByExample(enabledAdmins());
+    }
+
+    @Override
+    public List<UmsAdmin> nextChunk(UmsAdmin last, int size) {
+        return adminMapper.selectByExampleAfterKey(enabledAdmins(), last != null ? last.getId() : null, size);
+    }
+
+    @Override
+    public String getKey(UmsAdmin admin) {
+        return REDIS_DATABASE + ":" + REDIS_KEY_ADMIN + ":" + admin.getUsername();
+    }
+
+    @Override
+    public Object getValue(UmsAdmin admin) {
+        return admin;
+    }
+
+    @Override
+    public Duration getTtl() {
+        return Duration.ofSeconds(REDIS_EXPIRE);
+    }
+
+    static UmsAdminExample enabledAdmins() {
+        UmsAdminExample example = new UmsAdminExample();
+        example.createCriteria().andStatusEqualTo(true);
+        return example;
+    }
+}
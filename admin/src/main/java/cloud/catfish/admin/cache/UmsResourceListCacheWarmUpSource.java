@@ -0,0 +1,60 @@
+package cloud.catfish.admin.cache;
+
+import cloud.catfish.admin.dao.UmsAdminRoleRelationDao;
+import cloud.catfish.common.redis.CacheWarmUpSource;
+import cloud.catfish.mbg.mapper.UmsAdminMapper;
+import cloud.catfish.mbg.model.UmsAdmin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 后台用户资源列表缓存预热，每个已启用用户的资源列表在预热线程池中并行查询
+ * Created by catfish on 2026/10/19.
+ */
+@Component
+public class UmsResourceListCacheWarmUpSource implements CacheWarmUpSource<UmsAdmin> {
+    @Autowired
+    private UmsAdminMapper adminMapper;
+    @Autowired
+    private UmsAdminRoleRelationDao adminRoleRelationDao;
+    @Value("${redis.database}")
+    private String REDIS_DATABASE;
+    @Value("${redis.expire.common}")
+    private Long REDIS_EXPIRE;
+    @Value("${redis.key.resourceList}")
+    private String REDIS_KEY_RESOURCE_LIST;
+
+    @Override
+    public String getName() {
+        return "resourceList";
+    }
+
+    @Override
+    public long count() {
+        return adminMapper.countByExample(UmsAdminCacheWarmUpSource.enabledAdmins());
+    }
+
+    @Override
+    public List<UmsAdmin> nextChunk(UmsAdmin last, int size) {
+        return adminMapper.selectByExampleAfterKey(UmsAdminCacheWarmUpSource.enabledAdmins(), last != null ? last.getId() : null, size);
+    }
+
+    @Override
+    public String getKey(UmsAdmin admin) {
+        return REDIS_DATABASE + ":" + REDIS_KEY_RESOURCE_LIST + ":" + admin.getId();
+    }
+
+    @Override
+    public Object getValue(UmsAdmin admin) {
+        return adminRoleRelationDao.getResourceList(admin.getId());
+    }
+
+    @Override
+    public Duration getTtl() {
+        return Duration.ofSeconds(REDIS_EXPIRE);
+    }
+}
@@ -1,7 +1,14 @@
 package cloud.catfish.admin.config;
 
+import cloud.catfish.mbg.cache.RedisMybatisCache;
+import cloud.catfish.mbg.cache.RedisMybatisCacheListener;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -11,4 +18,17 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @Configuration
 @EnableTransactionManagement
 public class MyBatisConfig {
+
+    /**
+     * 为mapper.xml中声明的RedisMybatisCache提供RedisTemplate，并订阅跨节点失效通知
+     */
+    @Bean
+    public RedisMessageListenerContainer mybatisCacheListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       RedisTemplate<String, Object> redisTemplate) {
+        RedisMybatisCache.setRedisTemplate(redisTemplate);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(new RedisMybatisCacheListener(), new ChannelTopic(RedisMybatisCache.INVALIDATE_CHANNEL));
+        return container;
+    }
 }
@@ -47,6 +47,7 @@ public interface UmsAdminService {
     /**
      * 根据用户名或昵称分页查询用户
      */
+    @Transactional(readOnly = true)
     List<UmsAdmin> list(String keyword, Integer pageSize, Integer pageNum);
 
     /**
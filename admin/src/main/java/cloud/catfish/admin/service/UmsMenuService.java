@@ -3,6 +3,7 @@ package cloud.catfish.admin.service;
 
 import cloud.catfish.admin.dto.UmsMenuNode;
 import cloud.catfish.mbg.model.UmsMenu;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -34,6 +35,7 @@ public interface UmsMenuService {
     /**
      * 分页查询后台菜单
      */
+    @Transactional(readOnly = true)
     List<UmsMenu> list(Long parentId, Integer pageSize, Integer pageNum);
 
     /**
@@ -1,6 +1,7 @@
 package cloud.catfish.admin.service;
 
 import cloud.catfish.mbg.model.UmsResource;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -32,6 +33,7 @@ public interface UmsResourceService {
     /**
      * 分页查询资源
      */
+    @Transactional(readOnly = true)
     List<UmsResource> list(Long categoryId, String nameKeyword, String urlKeyword, Integer pageSize, Integer pageNum);
 
     /**
@@ -35,6 +35,7 @@ public interface UmsRoleService {
     /**
      * 分页获取角色列表
      */
+    @Transactional(readOnly = true)
     List<UmsRole> list(String keyword, Integer pageSize, Integer pageNum);
 
     /**
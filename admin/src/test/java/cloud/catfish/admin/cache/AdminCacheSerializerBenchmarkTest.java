@@ -0,0 +1,127 @@
+package cloud.catfish.admin.cache;
+
+import cloud.catfish.common.config.BaseRedisConfig;
+import cloud.catfish.common.redis.RedisSerializerMode;
+import cloud.catfish.common.redis.RedisSerializerProperties;
+import cloud.catfish.mbg.model.UmsAdmin;
+import cloud.catfish.mbg.model.UmsResource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 后台用户和资源列表缓存在Smile与JSON序列化下的体积和耗时对比
+ * 类型注册表与application.yml中的redis.serializer.types一致。
+ * 体积对比随单元测试执行；耗时对比标记为benchmark，默认不执行，使用-Pbenchmark执行，只输出结果不作断言
+ * Created by catfish on 2026/10/19.
+ */
+@Slf4j
+class AdminCacheSerializerBenchmarkTest {
+
+    private static final int WARM_UP_ROUNDS = 5000;
+
+    private static final int ROUNDS = 50000;
+
+    @Test
+    void smileIsSmallerThanJson() {
+        RedisSerializer<Object> json = serializer(RedisSerializerMode.JSON);
+        RedisSerializer<Object> smile = serializer(RedisSerializerMode.SMILE);
+        for (Object value : List.of(admin(), resourceList(60))) {
+            byte[] jsonBytes = json.serialize(value);
+            byte[] smileBytes = smile.serialize(value);
+            assertEquals(value, json.deserialize(jsonBytes));
+            assertEquals(value, smile.deserialize(smileBytes));
+            //切换前写入的JSON缓存仍可读取
+            assertEquals(value, smile.deserialize(jsonBytes));
+            log.info("{}: json={} bytes, smile={} bytes, ratio={}", name(value), jsonBytes.length, smileBytes.length,
+                    String.format("%.2f", (double) smileBytes.length / jsonBytes.length));
+            assertTrue(smileBytes.length < jsonBytes.length);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void nanosPerOperation() {
+        for (Object value : List.of(admin(), resourceList(60))) {
+            for (RedisSerializerMode mode : RedisSerializerMode.values()) {
+                RedisSerializer<Object> serializer = serializer(mode);
+                byte[] bytes = serializer.serialize(value);
+                run(serializer, value, bytes, WARM_UP_ROUNDS);
+
+                long start = System.nanoTime();
+                for (int i = 0; i < ROUNDS; i++) {
+                    bytes = serializer.serialize(value);
+                }
+                long serializeNanos = System.nanoTime() - start;
+                Object result = null;
+                start = System.nanoTime();
+                for (int i = 0; i < ROUNDS; i++) {
+                    result = serializer.deserialize(bytes);
+                }
+                long deserializeNanos = System.nanoTime() - start;
+                assertEquals(value, result);
+                log.info("{} {}: serialize={} ns/op, deserialize={} ns/op", name(value), mode,
+                        serializeNanos / ROUNDS, deserializeNanos / ROUNDS);
+            }
+        }
+    }
+
+    private static void run(RedisSerializer<Object> serializer, Object value, byte[] bytes, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            if (serializer.serialize(value).length == 0 || serializer.deserialize(bytes) == null) {
+                throw new IllegalStateException("serializer returned empty result");
+            }
+        }
+    }
+
+    private static RedisSerializer<Object> serializer(RedisSerializerMode mode) {
+        RedisSerializerProperties properties = new RedisSerializerProperties();
+        properties.setMode(mode);
+        properties.getTypes().put("admin", UmsAdmin.class.getName());
+        properties.getTypes().put("resource", UmsResource.class.getName());
+        return new BaseRedisConfig().redisSerializer(properties);
+    }
+
+    private static String name(Object value) {
+        return value instanceof List<?> list ? "List<UmsResource>(" + list.size() + ")" : value.getClass().getSimpleName();
+    }
+
+    private static UmsAdmin admin() {
+        LocalDateTime time = LocalDateTime.of(2026, 10, 19, 9, 30);
+        return UmsAdmin.builder()
+                .id(1L)
+                .username("admin")
+                .password("$2a$10$.E1FokumK5GIXWgKlg.Hc.i/0/2.qdAwYFL1zc5QHdyzpXOr38RZO")
+                .icon("https://catfish.cloud/icon/admin.png")
+                .email("admin@catfish.cloud")
+                .nickName("系统管理员")
+                .note("系统管理员")
+                .createTime(time)
+                .loginTime(time.plusDays(1))
+                .status(true)
+                .build();
+    }
+
+    private static List<UmsResource> resourceList(int count) {
+        List<UmsResource> resources = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            resources.add(UmsResource.builder()
+                    .id(i)
+                    .createTime(LocalDateTime.of(2026, 10, 19, 9, 30).plusMinutes(i))
+                    .name("资源" + i)
+                    .url("/admin/resource/" + i + "/**")
+                    .description("资源" + i + "的访问权限")
+                    .categoryId(i % 5 + 1)
+                    .build());
+        }
+        return resources;
+    }
+}
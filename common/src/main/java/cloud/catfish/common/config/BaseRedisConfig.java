@@ -1,16 +1,44 @@
 package cloud.catfish.common.config;
 
+import cloud.catfish.common.redis.CacheWarmUpEndpoint;
+import cloud.catfish.common.redis.CacheWarmUpProperties;
+import cloud.catfish.common.redis.CacheWarmUpService;
+import cloud.catfish.common.redis.CacheWarmUpSource;
+import cloud.catfish.common.redis.ClientSideCache;
+import cloud.catfish.common.redis.ClientSideCacheProperties;
+import cloud.catfish.common.redis.ClientSideCachingCacheWriter;
+import cloud.catfish.common.redis.CompressingRedisSerializer;
+import cloud.catfish.common.redis.HotKeyDetector;
+import cloud.catfish.common.redis.HotKeyEndpoint;
+import cloud.catfish.common.redis.HotKeyProperties;
+import cloud.catfish.common.redis.RedisSerializerMode;
+import cloud.catfish.common.redis.RedisSerializerProperties;
+import cloud.catfish.common.redis.RedisTypeRegistry;
+import cloud.catfish.common.redis.RegistryTypeIdResolver;
+import cloud.catfish.common.redis.SmileRedisSerializer;
+import cloud.catfish.common.service.RedisAsyncService;
 import cloud.catfish.common.service.RedisService;
+import cloud.catfish.common.service.impl.ClientSideCachingRedisService;
+import cloud.catfish.common.service.impl.RedisAsyncServiceImpl;
 import cloud.catfish.common.service.impl.RedisServiceImpl;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -37,29 +65,155 @@ public class BaseRedisConfig {
         return redisTemplate;
     }
 
+    /**
+     * 与redisTemplate使用相同的序列化方式，数据可以互相读取
+     */
     @Bean
-    public RedisSerializer<Object> redisSerializer() {
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory, RedisSerializer<Object> redisSerializer) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(redisSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(redisSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, serializationContext);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "redis.serializer")
+    public RedisSerializerProperties redisSerializerProperties() {
+        return new RedisSerializerProperties();
+    }
+
+    @Bean
+    public RedisSerializer<Object> redisSerializer(RedisSerializerProperties redisSerializerProperties) {
         ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        configureObjectMapper(objectMapper);
         //必须设置，否则无法将JSON转化为对象，会转化成Map类型
         objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,ObjectMapper.DefaultTyping.NON_FINAL);
         //创建JSON序列化器
-        return new Jackson2JsonRedisSerializer<>(objectMapper,Object.class);
+        RedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper,Object.class);
+        RedisSerializer<Object> serializer = redisSerializerProperties.getMode() == RedisSerializerMode.SMILE
+                ? smileSerializer(redisSerializerProperties, jsonSerializer) : jsonSerializer;
+        //始终能读取压缩数据，开启后才压缩写入的数据
+        RedisSerializerProperties.Compression compression = redisSerializerProperties.getCompression();
+        return new CompressingRedisSerializer<>(serializer, compression.getThreshold(), compression.isEnabled());
+    }
+
+    /**
+     * 压缩率等指标，未开启压缩写入时各项计数为0
+     */
+    @Bean
+    public MeterBinder redisSerializerMetrics(RedisSerializer<Object> redisSerializer) {
+        return registry -> {
+            if (redisSerializer instanceof CompressingRedisSerializer<?> compressingSerializer) {
+                compressingSerializer.bindTo(registry);
+            }
+        };
+    }
+
+    private RedisSerializer<Object> smileSerializer(RedisSerializerProperties redisSerializerProperties, RedisSerializer<Object> jsonSerializer) {
+        //Smile格式，已注册类型的类型信息只写别名，JSON序列化器仅用于读取迁移前的数据
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper smileMapper = new ObjectMapper(smileFactory);
+        configureObjectMapper(smileMapper);
+        RedisTypeRegistry typeRegistry = new RedisTypeRegistry(redisSerializerProperties.getTypes());
+        smileMapper.setDefaultTyping(ObjectMapper.DefaultTypeResolverBuilder
+                .construct(ObjectMapper.DefaultTyping.NON_FINAL, LaissezFaireSubTypeValidator.instance)
+                .init(JsonTypeInfo.Id.CLASS, new RegistryTypeIdResolver(smileMapper.getTypeFactory(), LaissezFaireSubTypeValidator.instance, typeRegistry))
+                .inclusion(JsonTypeInfo.As.WRAPPER_ARRAY));
+        return new SmileRedisSerializer(smileMapper, jsonSerializer);
     }
 
     @Bean
-    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, RedisSerializer<Object> redisSerializer) {
+        return new RedisCacheManager(redisCacheWriter(redisConnectionFactory), redisCacheConfiguration(redisSerializer));
+    }
+
+    /**
+     * 开启客户端缓存时，前缀匹配的缓存key优先读取本地副本
+     */
+    protected RedisCacheWriter redisCacheWriter(RedisConnectionFactory redisConnectionFactory) {
         RedisCacheWriter redisCacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory);
+        if (clientSideCacheProperties().isEnabled()) {
+            return new ClientSideCachingCacheWriter(redisCacheWriter, clientSideCache(redisConnectionFactory, clientSideCacheProperties()));
+        }
+        return redisCacheWriter;
+    }
+
+    protected RedisCacheConfiguration redisCacheConfiguration(RedisSerializer<Object> redisSerializer) {
         //设置Redis缓存有效期为1天
-        RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisSerializer())).entryTtl(Duration.ofDays(1));
-        return new RedisCacheManager(redisCacheWriter, redisCacheConfiguration);
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisSerializer)).entryTtl(Duration.ofDays(1));
+    }
+
+
+    @Bean
+    @ConfigurationProperties(prefix = "redis.hot-key")
+    public HotKeyProperties hotKeyProperties() {
+        return new HotKeyProperties();
+    }
+
+    @Bean
+    public HotKeyDetector hotKeyDetector(HotKeyProperties hotKeyProperties) {
+        return new HotKeyDetector(hotKeyProperties);
     }
 
+    @Bean
+    public HotKeyEndpoint hotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+        return new HotKeyEndpoint(hotKeyDetector);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "redis.client-side-cache")
+    public ClientSideCacheProperties clientSideCacheProperties() {
+        return new ClientSideCacheProperties();
+    }
+
+    @Bean
+    public ClientSideCache clientSideCache(RedisConnectionFactory redisConnectionFactory, ClientSideCacheProperties clientSideCacheProperties) {
+        return new ClientSideCache(redisConnectionFactory, clientSideCacheProperties);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "redis.warm-up")
+    public CacheWarmUpProperties cacheWarmUpProperties() {
+        return new CacheWarmUpProperties();
+    }
+
+    /**
+     * 数据源在预热时才获取，数据源可以依赖使用缓存的Service
+     */
+    @Bean
+    public CacheWarmUpService cacheWarmUpService(RedisTemplate<String, Object> redisTemplate, CacheWarmUpProperties cacheWarmUpProperties,
+                                                 ObjectProvider<CacheWarmUpSource<?>> cacheWarmUpSources) {
+        return new CacheWarmUpService(redisTemplate, cacheWarmUpProperties, cacheWarmUpSources);
+    }
+
+    @Bean
+    public CacheWarmUpEndpoint cacheWarmUpEndpoint(CacheWarmUpService cacheWarmUpService) {
+        return new CacheWarmUpEndpoint(cacheWarmUpService);
+    }
 
     @Bean
     public RedisService redisService(){
+        if (clientSideCacheProperties().isEnabled()) {
+            return new ClientSideCachingRedisService();
+        }
         return new RedisServiceImpl();
     }
 
+    @Bean
+    public RedisAsyncService redisAsyncService(){
+        return new RedisAsyncServiceImpl();
+    }
+
+    private void configureObjectMapper(ObjectMapper objectMapper) {
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        //缓存的实体中包含LocalDateTime字段
+        objectMapper.registerModule(new JavaTimeModule());
+    }
+
 }
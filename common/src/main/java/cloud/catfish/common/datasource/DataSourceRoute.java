@@ -0,0 +1,16 @@
+package cloud.catfish.common.datasource;
+
+/**
+ * 数据源路由
+ * Created by catfish on 2026/10/19.
+ */
+public enum DataSourceRoute {
+    /**
+     * 主库，承担所有写操作
+     */
+    PRIMARY,
+    /**
+     * 从库，承担只读查询
+     */
+    REPLICA
+}
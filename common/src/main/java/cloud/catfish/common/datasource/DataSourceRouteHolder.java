@@ -0,0 +1,29 @@
+package cloud.catfish.common.datasource;
+
+/**
+ * 当前线程的读路由标记，支持嵌套调用
+ * Created by catfish on 2026/10/19.
+ */
+public class DataSourceRouteHolder {
+    private static final ThreadLocal<Integer> READ_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private DataSourceRouteHolder() {
+    }
+
+    public static void enterRead() {
+        READ_DEPTH.set(READ_DEPTH.get() + 1);
+    }
+
+    public static void exitRead() {
+        int depth = READ_DEPTH.get() - 1;
+        if (depth <= 0) {
+            READ_DEPTH.remove();
+        } else {
+            READ_DEPTH.set(depth);
+        }
+    }
+
+    public static boolean isRead() {
+        return READ_DEPTH.get() > 0;
+    }
+}
@@ -0,0 +1,14 @@
+package cloud.catfish.common.datasource;
+
+import java.lang.annotation.*;
+
+/**
+ * 标记只读方法，在读写分离开启时路由到从库
+ * 已处于读写事务中时仍使用事务绑定的主库连接
+ * Created by catfish on 2026/10/19.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {
+}
@@ -0,0 +1,26 @@
+package cloud.catfish.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 处理{@link ReadFromReplica}注解，在事务切面之前设置读路由
+ * Created by catfish on 2026/10/19.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromReplicaAspect {
+
+    @Around("@annotation(cloud.catfish.common.datasource.ReadFromReplica) || @within(cloud.catfish.common.datasource.ReadFromReplica)")
+    public Object routeToReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourceRouteHolder.enterRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteHolder.exitRead();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package cloud.catfish.common.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 读写分离数据源配置
+ * 主从各自一个Druid连接池，都沿用spring.datasource.druid中的连接池设置，连接信息和连接池大小单独配置；
+ * 对外暴露的DataSource为延迟获取连接的路由数据源，
+ * MyBatis、JdbcTemplate及事务管理器无需改动。
+ * Created by catfish on 2026/10/19.
+ */
+@Configuration
+@ConditionalOnClass(name = "com.alibaba.druid.pool.DruidDataSource")
+@ConditionalOnProperty(prefix = "datasource.read-write", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({ReadWriteDataSourceProperties.class, DataSourceProperties.class})
+public class ReadWriteDataSourceConfig {
+    /**
+     * Druid连接池设置的前缀，与druid-spring-boot-starter一致
+     */
+    static final String DRUID_PREFIX = "spring.datasource.druid";
+
+    @Bean(initMethod = "init", destroyMethod = "close")
+    public DruidDataSource primaryDataSource(DataSourceProperties dataSourceProperties,
+                                             ReadWriteDataSourceProperties properties, Environment environment) {
+        return createPool(Binder.get(environment), "primary", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), properties.getPrimary());
+    }
+
+    @Bean(initMethod = "init", destroyMethod = "close")
+    public DruidDataSource replicaDataSource(ReadWriteDataSourceProperties properties, Environment environment) {
+        ReadWriteDataSourceProperties.Replica replica = properties.getReplica();
+        return createPool(Binder.get(environment), "replica", replica.getUrl(), replica.getUsername(), replica.getPassword(), replica);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(DruidDataSource replicaDataSource, ReadWriteDataSourceProperties properties) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.getMaxLagSeconds(), properties.getLagCheckIntervalSeconds());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DruidDataSource primaryDataSource, DruidDataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaLagMonitor);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRoute.PRIMARY, primaryDataSource);
+        targets.put(DataSourceRoute.REPLICA, replicaDataSource);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadFromReplicaAspect readFromReplicaAspect() {
+        return new ReadFromReplicaAspect();
+    }
+
+    /**
+     * 先绑定spring.datasource.druid中的全部设置（validationQuery、testWhileIdle、超时、filters等），
+     * 再设置各自的连接信息和连接池大小
+     */
+    static DruidDataSource createPool(Binder binder, String name, String url, String username, String password,
+                                      ReadWriteDataSourceProperties.Pool pool) {
+        DruidDataSource dataSource = new DruidDataSource();
+        binder.bind(DRUID_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setName(name);
+        dataSource.setUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setInitialSize(pool.getInitialSize());
+        dataSource.setMinIdle(pool.getMinIdle());
+        dataSource.setMaxActive(pool.getMaxActive());
+        return dataSource;
+    }
+}
@@ -0,0 +1,58 @@
+package cloud.catfish.common.datasource;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 读写分离配置，主库连接信息沿用spring.datasource
+ * Created by catfish on 2026/10/19.
+ */
+@Data
+@ConfigurationProperties(prefix = "datasource.read-write")
+public class ReadWriteDataSourceProperties {
+    /**
+     * 是否开启读写分离
+     */
+    private boolean enabled = false;
+    /**
+     * 允许的最大复制延迟（秒），超过后读请求回退主库
+     */
+    private long maxLagSeconds = 5;
+    /**
+     * 复制延迟检测间隔（秒），小于等于0时关闭检测
+     */
+    private long lagCheckIntervalSeconds = 5;
+    /**
+     * 主库连接池
+     */
+    private Pool primary = new Pool();
+    /**
+     * 从库连接信息及连接池
+     */
+    private Replica replica = new Replica();
+
+    @Data
+    public static class Pool {
+        /**
+         * 连接池初始化大小
+         */
+        private int initialSize = 5;
+        /**
+         * 最小空闲连接数
+         */
+        private int minIdle = 10;
+        /**
+         * 最大连接数
+         */
+        private int maxActive = 20;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Replica extends Pool {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,29 @@
+package cloud.catfish.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务或标记了{@link ReadFromReplica}的调用走从库，从库延迟超限或不可用时回退主库。
+ * 读写事务中始终走主库，即使事务的第一条语句由{@link ReadFromReplica}方法发出，也不能把整个事务绑定到从库。
+ * 需要包装在LazyConnectionDataSourceProxy中使用，保证获取连接时事务的只读标记已经设置。
+ * Created by catfish on 2026/10/19.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        boolean read = DataSourceRouteHolder.isRead() || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return read && lagMonitor.isReplicaAvailable() ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+    }
+}
@@ -0,0 +1,93 @@
+package cloud.catfish.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从库复制延迟检测
+ * 定时读取复制状态，延迟超过阈值、复制中断或从库不可达时判定为不可用，读请求回退主库。
+ * 没有复制状态的实例视为可用，检测间隔小于等于0时关闭检测（如使用内嵌数据库测试）。
+ * Created by catfish on 2026/10/19.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagSeconds;
+    private final long checkIntervalSeconds;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean replicaAvailable = true;
+    private volatile Long lastLagSeconds;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds, long checkIntervalSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalSeconds = checkIntervalSeconds;
+    }
+
+    public void start() {
+        if (checkIntervalSeconds <= 0) {
+            return;
+        }
+        check();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public Long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    void check() {
+        boolean available;
+        try {
+            List<Map<String, Object>> status = queryReplicaStatus();
+            if (status.isEmpty()) {
+                lastLagSeconds = 0L;
+                available = true;
+            } else {
+                Map<String, Object> row = status.get(0);
+                Object lag = row.containsKey("Seconds_Behind_Source") ? row.get("Seconds_Behind_Source") : row.get("Seconds_Behind_Master");
+                lastLagSeconds = lag == null ? null : Long.valueOf(lag.toString());
+                available = lastLagSeconds != null && lastLagSeconds <= maxLagSeconds;
+            }
+        } catch (Exception e) {
+            log.warn("从库复制状态检测失败: {}", e.getMessage());
+            lastLagSeconds = null;
+            available = false;
+        }
+        if (available != replicaAvailable) {
+            log.warn("从库状态变更: available={}, lagSeconds={}", available, lastLagSeconds);
+        }
+        replicaAvailable = available;
+    }
+
+    private List<Map<String, Object>> queryReplicaStatus() {
+        try {
+            return replicaJdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        } catch (Exception e) {
+            // MySQL 8.0.22以前只支持旧语法
+            return replicaJdbcTemplate.queryForList("SHOW SLAVE STATUS");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cloud.catfish.common.redis;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * 缓存预热的管理端点，通过 /actuator/cachewarmup 查看进度，
+ * POST时在后台开始预热指定的数据源，不指定时预热全部
+ * Created by catfish on 2026/10/19.
+ */
+@Endpoint(id = "cachewarmup")
+public class CacheWarmUpEndpoint {
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpEndpoint(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @ReadOperation
+    public Map<String, CacheWarmUpProgress> progress() {
+        return cacheWarmUpService.getProgress();
+    }
+
+    @WriteOperation
+    public Map<String, CacheWarmUpProgress> warmUp(@Nullable String name) {
+        if (name == null) {
+            cacheWarmUpService.startAll();
+        } else {
+            cacheWarmUpService.start(name);
+        }
+        return cacheWarmUpService.getProgress();
+    }
+}
@@ -0,0 +1,67 @@
+package cloud.catfish.common.redis;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一次缓存预热的进度，由预热线程更新，其他线程只读
+ * Created by catfish on 2026/10/19.
+ */
+@Getter
+public class CacheWarmUpProgress {
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String name;
+    private final long total;
+    private final LocalDateTime startTime = LocalDateTime.now();
+    private volatile Status status = Status.RUNNING;
+    private volatile long processed;
+    private volatile long written;
+    /**
+     * key已存在，没有写入
+     */
+    private volatile long skipped;
+    private volatile long failed;
+    private volatile LocalDateTime endTime;
+    private volatile String error;
+
+    public CacheWarmUpProgress(String name, long total) {
+        this.name = name;
+        this.total = total;
+    }
+
+    /**
+     * 已处理的比例（百分比），总数未知时为-1
+     */
+    public double getPercent() {
+        if (total < 0) {
+            return -1;
+        }
+        return total == 0 ? 100 : Math.min(100, processed * 100.0 / total);
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    void chunkDone(long processed, long written, long skipped, long failed) {
+        this.processed += processed;
+        this.written += written;
+        this.skipped += skipped;
+        this.failed += failed;
+    }
+
+    void complete() {
+        endTime = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(Exception e) {
+        error = e.getMessage();
+        endTime = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+}
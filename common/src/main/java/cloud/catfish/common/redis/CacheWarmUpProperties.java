@@ -0,0 +1,34 @@
+package cloud.catfish.common.redis;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 缓存预热配置
+ * Created by catfish on 2026/10/19.
+ */
+@Data
+public class CacheWarmUpProperties {
+    /**
+     * 每次从数据源读取的条数
+     */
+    private int chunkSize = 1000;
+    /**
+     * 计算和序列化缓存值的线程数
+     */
+    private int parallelism = 4;
+    /**
+     * 单个pipeline中最多的SET命令数
+     */
+    private int pipelineSize = 500;
+    /**
+     * 每秒最多写入的key数量，避免预热占满Redis，不大于0时不限速
+     */
+    private int maxOpsPerSecond = 5000;
+    /**
+     * 应用启动完成后自动预热的数据源名称
+     */
+    private List<String> onStartup = new ArrayList<>();
+}
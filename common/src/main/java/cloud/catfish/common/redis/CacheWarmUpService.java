@@ -0,0 +1,219 @@
+package cloud.catfish.common.redis;
+
+import cloud.catfish.common.util.RateThrottle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存预热
+ * 从{@link CacheWarmUpSource}按块读取源数据，每块在有界线程池中并行计算和序列化缓存值，
+ * 再通过pipeline直接发送SET NX写入，写入速度受每秒最多写入数限制。
+ * 只填充缺失的key，已存在的key跳过，避免从数据库读出的旧值覆盖预热期间的并发删除或更新。
+ * 同一个数据源同时只有一次预热，进度可以通过{@link CacheWarmUpEndpoint}查看。
+ * Created by catfish on 2026/10/19.
+ */
+@Slf4j
+public class CacheWarmUpService implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheWarmUpProperties properties;
+    private final ObjectProvider<CacheWarmUpSource<?>> sources;
+    private final ThreadPoolExecutor valueExecutor;
+    /**
+     * 各数据源最近一次预热的进度
+     */
+    private final Map<String, CacheWarmUpProgress> progress = new ConcurrentHashMap<>();
+
+    public CacheWarmUpService(RedisTemplate<String, Object> redisTemplate, CacheWarmUpProperties properties,
+                              ObjectProvider<CacheWarmUpSource<?>> sources) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.sources = sources;
+        int parallelism = Math.max(1, properties.getParallelism());
+        AtomicInteger threadCount = new AtomicInteger();
+        //队列满时由读取线程自己计算，不会无限堆积
+        this.valueExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-warm-up-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        properties.getOnStartup().forEach(this::start);
+    }
+
+    /**
+     * 在当前线程预热指定数据源，已有预热在进行时抛出异常
+     *
+     * @param name 数据源名称
+     * @return 预热结束后的进度
+     */
+    public CacheWarmUpProgress warmUp(String name) {
+        CacheWarmUpSource<?> source = getSource(name);
+        CacheWarmUpProgress current = begin(source);
+        if (current == null) {
+            throw new IllegalStateException("缓存预热正在进行: " + name);
+        }
+        run(source, current);
+        return current;
+    }
+
+    /**
+     * 在后台预热指定数据源，已有预热在进行时返回其进度
+     *
+     * @param name 数据源名称
+     * @return 预热进度
+     */
+    public CacheWarmUpProgress start(String name) {
+        CacheWarmUpSource<?> source = getSource(name);
+        CacheWarmUpProgress current = begin(source);
+        if (current == null) {
+            return progress.get(name);
+        }
+        Thread thread = new Thread(() -> run(source, current), "cache-warm-up-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        return current;
+    }
+
+    /**
+     * 在后台预热全部数据源
+     */
+    public void startAll() {
+        sources.orderedStream().forEach(source -> start(source.getName()));
+    }
+
+    /**
+     * 各数据源最近一次预热的进度
+     */
+    public Map<String, CacheWarmUpProgress> getProgress() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(progress));
+    }
+
+    @Override
+    public void destroy() {
+        valueExecutor.shutdownNow();
+    }
+
+    private CacheWarmUpSource<?> getSource(String name) {
+        return sources.orderedStream()
+                .filter(source -> source.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("未知的缓存预热数据源: " + name));
+    }
+
+    /**
+     * 登记一次新的预热，同一个数据源已有预热在进行时返回null
+     */
+    private CacheWarmUpProgress begin(CacheWarmUpSource<?> source) {
+        CacheWarmUpProgress next = new CacheWarmUpProgress(source.getName(), source.count());
+        CacheWarmUpProgress current = progress.compute(source.getName(),
+                (name, previous) -> previous != null && previous.isRunning() ? previous : next);
+        return current == next ? next : null;
+    }
+
+    private <T> void run(CacheWarmUpSource<T> source, CacheWarmUpProgress current) {
+        log.info("开始缓存预热: {}", source.getName());
+        RateThrottle throttle = new RateThrottle(properties.getMaxOpsPerSecond());
+        Duration ttl = source.getTtl();
+        Expiration expiration = ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+        int chunkSize = properties.getChunkSize();
+        try {
+            T last = null;
+            while (true) {
+                // 数据源可能过滤掉部分数据，只有读到空块才结束
+                List<T> chunk = source.nextChunk(last, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                AtomicLong failed = new AtomicLong();
+                List<byte[][]> entries = serialize(source, chunk, failed);
+                long written = write(entries, expiration, throttle);
+                current.chunkDone(chunk.size(), written, entries.size() - written, failed.get());
+                last = chunk.get(chunk.size() - 1);
+            }
+            current.complete();
+            log.info("缓存预热完成: {}, 处理: {}, 写入: {}, 已存在跳过: {}, 失败: {}", source.getName(),
+                    current.getProcessed(), current.getWritten(), current.getSkipped(), current.getFailed());
+        } catch (Exception e) {
+            current.fail(e);
+            log.error("缓存预热失败: {}, 已处理: {}", source.getName(), current.getProcessed(), e);
+        }
+    }
+
+    /**
+     * 把一块源数据分成parallelism份并行计算和序列化，结果保持源数据的顺序
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<byte[][]> serialize(CacheWarmUpSource<T> source, List<T> chunk, AtomicLong failed) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        int sliceSize = (chunk.size() + valueExecutor.getMaximumPoolSize() - 1) / valueExecutor.getMaximumPoolSize();
+        List<CompletableFuture<List<byte[][]>>> futures = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<T> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<byte[][]> entries = new ArrayList<>(slice.size());
+                for (T item : slice) {
+                    try {
+                        Object value = source.getValue(item);
+                        if (value != null) {
+                            entries.add(new byte[][]{keySerializer.serialize(source.getKey(item)), valueSerializer.serialize(value)});
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        log.warn("计算缓存值失败: {}", source.getName(), e);
+                    }
+                }
+                return entries;
+            }, valueExecutor));
+        }
+        List<byte[][]> entries = new ArrayList<>(chunk.size());
+        futures.forEach(future -> entries.addAll(future.join()));
+        return entries;
+    }
+
+    /**
+     * 用SET NX写入，返回实际写入的数量
+     */
+    private long write(List<byte[][]> entries, Expiration expiration, RateThrottle throttle) {
+        int pipelineSize = properties.getPipelineSize();
+        long written = 0;
+        for (int from = 0; from < entries.size(); from += pipelineSize) {
+            List<byte[][]> batch = entries.subList(from, Math.min(from + pipelineSize, entries.size()));
+            throttle.acquire(batch.size());
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[][] entry : batch) {
+                    connection.stringCommands().set(entry[0], entry[1], expiration, RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+            written += results.stream().filter(Boolean.TRUE::equals).count();
+        }
+        return written;
+    }
+}
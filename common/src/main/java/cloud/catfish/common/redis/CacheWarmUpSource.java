@@ -0,0 +1,47 @@
+package cloud.catfish.common.redis;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 缓存预热的数据源，注册为Bean后即可通过{@link CacheWarmUpService}预热
+ * 源数据按块读取，每块读取后并行计算缓存值并通过pipeline写入
+ * Created by catfish on 2026/10/19.
+ */
+public interface CacheWarmUpSource<T> {
+    /**
+     * 数据源名称，用于指定预热和查看进度
+     */
+    String getName();
+
+    /**
+     * 源数据总数，用于计算进度，未知时返回-1
+     */
+    default long count() {
+        return -1;
+    }
+
+    /**
+     * 读取下一块源数据，应按主键等唯一有序字段读取
+     *
+     * @param last 上一块的最后一条，读取第一块时为null
+     * @param size 最多读取的条数
+     * @return 源数据，为空时预热结束；数据源可以过滤掉部分数据，不足size条时仍会继续读取
+     */
+    List<T> nextChunk(T last, int size);
+
+    /**
+     * 源数据对应的缓存key
+     */
+    String getKey(T item);
+
+    /**
+     * 源数据对应的缓存值，在预热线程池中并行调用，返回null时跳过
+     */
+    Object getValue(T item);
+
+    /**
+     * 缓存的过期时间，为0表示不过期
+     */
+    Duration getTtl();
+}
@@ -0,0 +1,209 @@
+package cloud.catfish.common.redis;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于RESP3客户端跟踪的本地缓存
+ * 使用一条独立的RESP3连接开启CLIENT TRACKING，通过这条连接读取的key被Redis记录，
+ * key被任何客户端修改或过期时Redis在这条连接上推送invalidate消息，本地副本随即删除。
+ * 每次读取前先放入新的占位对象，读取期间收到失效消息会删除占位，读取结果就不会写入本地，避免缓存旧值；
+ * 占位对象不共用，失效后其他线程重新放入的占位不会被之前的读取替换。
+ * 本地保存的是序列化后的字节，每次命中都会反序列化出新对象。
+ * 连接断开期间可能丢失失效消息，断开时清空本地缓存并直接读取Redis，重连后重新开启跟踪。
+ * Created by catfish on 2026/10/19.
+ */
+@Slf4j
+public class ClientSideCache implements InitializingBean, DisposableBean {
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final ClientSideCacheProperties properties;
+    private final Map<String, Object> entries = new ConcurrentHashMap<>();
+    private RedisClient client;
+    private volatile StatefulRedisConnection<byte[], byte[]> connection;
+    /**
+     * 跟踪是否生效，未生效时不使用本地缓存
+     */
+    private volatile boolean tracking;
+
+    public ClientSideCache(RedisConnectionFactory redisConnectionFactory, ClientSideCacheProperties properties) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!(redisConnectionFactory instanceof LettuceConnectionFactory lettuceConnectionFactory)
+                || lettuceConnectionFactory.isClusterAware() || lettuceConnectionFactory.isRedisSentinelAware()) {
+            log.warn("客户端缓存只支持Lettuce单机模式，未开启");
+            return;
+        }
+        try {
+            client = RedisClient.create(redisUri(lettuceConnectionFactory.getStandaloneConfiguration()));
+            client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+            client.addListener(new RedisConnectionStateListener() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress socketAddress) {
+                    // 首次连接由下面同步开启跟踪，这里只处理重连
+                    if (connection != null) {
+                        enableTracking();
+                    }
+                }
+
+                @Override
+                public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                    tracking = false;
+                    entries.clear();
+                }
+            });
+            connection = client.connect(ByteArrayCodec.INSTANCE);
+            connection.addListener(this::onPushMessage);
+            connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+            tracking = true;
+            log.info("客户端缓存已开启，key前缀: {}", properties.getPrefixes());
+        } catch (Exception e) {
+            log.warn("客户端缓存开启失败，直接读取Redis", e);
+            destroy();
+        }
+    }
+
+    /**
+     * key是否使用客户端缓存
+     */
+    public boolean isCacheable(String key) {
+        if (connection == null) {
+            return false;
+        }
+        for (String prefix : properties.getPrefixes()) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取key的原始值，只应传入{@link #isCacheable(String)}为true的key
+     *
+     * @param key Redis中的key
+     * @return 序列化后的值，不存在时为null
+     */
+    public byte[] get(String key) {
+        Object cached = entries.get(key);
+        if (cached instanceof byte[] value) {
+            return value;
+        }
+        // 其他线程正在读取或本地已满时只读取不缓存
+        Object placeholder = new Object();
+        boolean caching = tracking && cached == null && entries.size() < properties.getMaxEntries()
+                && entries.putIfAbsent(key, placeholder) == null;
+        byte[] value;
+        try {
+            value = connection.sync().get(key.getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            if (caching) {
+                entries.remove(key, placeholder);
+            }
+            throw e;
+        }
+        if (caching) {
+            if (value != null) {
+                entries.replace(key, placeholder, value);
+            } else {
+                entries.remove(key, placeholder);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 删除本地副本，本节点写入后立即调用，不必等待Redis的失效推送
+     */
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 清空本地副本
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public void destroy() {
+        tracking = false;
+        entries.clear();
+        if (connection != null) {
+            connection.close();
+            connection = null;
+        }
+        if (client != null) {
+            client.shutdown();
+            client = null;
+        }
+    }
+
+    private void enableTracking() {
+        connection.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((result, e) -> {
+            if (e != null) {
+                log.warn("重连后开启客户端跟踪失败，直接读取Redis", e);
+                return;
+            }
+            entries.clear();
+            tracking = true;
+        });
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> invalidated) {
+            invalidated.forEach(key -> entries.remove(String.valueOf(key)));
+        } else {
+            //FLUSHALL/FLUSHDB时推送的key列表为空
+            entries.clear();
+        }
+    }
+
+    private static RedisURI redisUri(RedisStandaloneConfiguration configuration) {
+        RedisURI.Builder builder = RedisURI.builder()
+                .withHost(configuration.getHostName())
+                .withPort(configuration.getPort())
+                .withDatabase(configuration.getDatabase());
+        configuration.getPassword().toOptional().ifPresent(password -> {
+            if (configuration.getUsername() != null) {
+                builder.withAuthentication(configuration.getUsername(), password);
+            } else {
+                builder.withPassword(password);
+            }
+        });
+        return builder.build();
+    }
+}
@@ -0,0 +1,26 @@
+package cloud.catfish.common.redis;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 客户端缓存配置，依赖Redis 6+的RESP3协议和CLIENT TRACKING，只支持单机模式
+ * Created by catfish on 2026/10/19.
+ */
+@Data
+public class ClientSideCacheProperties {
+    /**
+     * 是否开启
+     */
+    private boolean enabled = false;
+    /**
+     * 使用客户端缓存的key前缀，只应配置读多写少的key
+     */
+    private List<String> prefixes = new ArrayList<>();
+    /**
+     * 本地最多缓存的key数量，超过后新读取的key不再缓存
+     */
+    private int maxEntries = 10000;
+}
@@ -0,0 +1,90 @@
+package cloud.catfish.common.redis;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 为RedisCacheManager增加客户端缓存的RedisCacheWriter装饰器
+ * 前缀匹配的缓存key从{@link ClientSideCache}读取，写入和删除后立即删除本地副本；
+ * 开启了按访问续期（TTI）的读取需要在Redis中刷新过期时间，仍然直接读取Redis。
+ * Created by catfish on 2026/10/19.
+ */
+public class ClientSideCachingCacheWriter implements RedisCacheWriter {
+    private final RedisCacheWriter delegate;
+    private final ClientSideCache clientSideCache;
+
+    public ClientSideCachingCacheWriter(RedisCacheWriter delegate, ClientSideCache clientSideCache) {
+        this.delegate = delegate;
+        this.clientSideCache = clientSideCache;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        String cacheKey = new String(key, StandardCharsets.UTF_8);
+        return clientSideCache.isCacheable(cacheKey) ? clientSideCache.get(cacheKey) : delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        delegate.put(name, key, value, ttl);
+        invalidate(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        return delegate.store(name, key, value, ttl).whenComplete((result, e) -> invalidate(key));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        byte[] existing = delegate.putIfAbsent(name, key, value, ttl);
+        invalidate(key);
+        return existing;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+        invalidate(key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+        clientSideCache.clear();
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new ClientSideCachingCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), clientSideCache);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private void invalidate(byte[] key) {
+        clientSideCache.invalidate(new String(key, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,169 @@
+package cloud.catfish.common.redis;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LZ4压缩序列化器，包装实际的序列化器
+ * 序列化结果超过阈值时压缩，压缩后的数据格式为：4字节魔数 + 4字节原始长度 + LZ4数据；
+ * 读取时没有魔数的数据直接交给被包装的序列化器，小数据和压缩开启前写入的数据都能正常读取。
+ * 关闭写入压缩时仍能读取压缩数据，开启时先部署关闭写入的版本，全部节点升级后再开启写入。
+ * Created by catfish on 2026/10/19.
+ */
+public class CompressingRedisSerializer<T> implements RedisSerializer<T>, MeterBinder {
+    /**
+     * 首字节为0，不会与JSON、Smile及字符串数据冲突
+     */
+    private static final byte[] MAGIC = {0x00, 'L', 'Z', '4'};
+    private static final int HEADER_LENGTH = MAGIC.length + 4;
+    /**
+     * Redis字符串最大512MB，原始长度超过该值的头部一定是错误的
+     */
+    private static final int MAX_RAW_LENGTH = 512 * 1024 * 1024;
+    /**
+     * LZ4的最大压缩比约为255:1，原始长度超过压缩数据的255倍时头部是错误的
+     */
+    private static final int MAX_COMPRESSION_RATIO = 255;
+
+    private final RedisSerializer<T> delegate;
+    private final int threshold;
+    private final boolean compressWrites;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+    /**
+     * 压缩前的总字节数
+     */
+    private final LongAdder rawBytes = new LongAdder();
+    /**
+     * 压缩后的总字节数
+     */
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    /**
+     * @param delegate 实际的序列化器
+     * @param threshold 序列化后超过该字节数才压缩
+     * @param compressWrites 是否压缩写入的数据，关闭时只解压读取到的压缩数据
+     */
+    public CompressingRedisSerializer(RedisSerializer<T> delegate, int threshold, boolean compressWrites) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.compressWrites = compressWrites;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] raw = delegate.serialize(value);
+        if (!compressWrites || raw == null || raw.length < threshold) {
+            return raw;
+        }
+        int maxLength = compressor.maxCompressedLength(raw.length);
+        byte[] buffer = new byte[HEADER_LENGTH + maxLength];
+        int length = compressor.compress(raw, 0, raw.length, buffer, HEADER_LENGTH, maxLength);
+        //压缩收益不明显时保存原始数据
+        if (HEADER_LENGTH + length >= raw.length) {
+            skippedCount.increment();
+            return raw;
+        }
+        System.arraycopy(MAGIC, 0, buffer, 0, MAGIC.length);
+        writeInt(buffer, MAGIC.length, raw.length);
+        rawBytes.add(raw.length);
+        compressedBytes.add(HEADER_LENGTH + length);
+        compressedCount.increment();
+        return Arrays.copyOf(buffer, HEADER_LENGTH + length);
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (!isCompressed(bytes)) {
+            return delegate.deserialize(bytes);
+        }
+        try {
+            int rawLength = readInt(bytes, MAGIC.length);
+            //头部中的长度不可信，分配内存前先校验
+            if (rawLength < 0 || rawLength > MAX_RAW_LENGTH
+                    || (long) rawLength > (long) (bytes.length - HEADER_LENGTH) * MAX_COMPRESSION_RATIO) {
+                throw new SerializationException("Invalid LZ4 value length: " + rawLength);
+            }
+            byte[] raw = new byte[rawLength];
+            decompressor.decompress(bytes, HEADER_LENGTH, raw, 0, raw.length);
+            return delegate.deserialize(raw);
+        } catch (RuntimeException e) {
+            if (e instanceof SerializationException) {
+                throw e;
+            }
+            throw new SerializationException("Could not decompress LZ4 value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("redis.serializer.compression.values", compressedCount, LongAdder::doubleValue)
+                .description("超过阈值并被压缩的值个数")
+                .tag("result", "compressed")
+                .register(registry);
+        FunctionCounter.builder("redis.serializer.compression.values", skippedCount, LongAdder::doubleValue)
+                .description("超过阈值但压缩收益不足的值个数")
+                .tag("result", "skipped")
+                .register(registry);
+        FunctionCounter.builder("redis.serializer.compression.bytes", rawBytes, LongAdder::doubleValue)
+                .description("被压缩的值压缩前的字节数")
+                .tag("stage", "raw")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("redis.serializer.compression.bytes", compressedBytes, LongAdder::doubleValue)
+                .description("被压缩的值压缩后的字节数")
+                .tag("stage", "compressed")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("redis.serializer.compression.ratio", this, CompressingRedisSerializer::getCompressionRatio)
+                .description("压缩后与压缩前的字节数之比")
+                .register(registry);
+    }
+
+    /**
+     * 压缩后与压缩前的字节数之比，没有压缩过的数据时为1
+     */
+    public double getCompressionRatio() {
+        long raw = rawBytes.sum();
+        return raw == 0 ? 1.0 : (double) compressedBytes.sum() / raw;
+    }
+
+    private static boolean isCompressed(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,70 @@
+package cloud.catfish.common.redis;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch，固定内存估算每个key的出现次数，只会高估不会低估
+ * Created by catfish on 2026/10/19.
+ */
+public class CountMinSketch {
+    private final int width;
+    private final AtomicLongArray[] rows;
+
+    /**
+     * @param width 每行计数器个数，越大误差越小
+     * @param depth 行数，越大高估的概率越小
+     */
+    public CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.rows = new AtomicLongArray[depth];
+        for (int i = 0; i < depth; i++) {
+            rows[i] = new AtomicLongArray(width);
+        }
+    }
+
+    /**
+     * 计数加1
+     *
+     * @return 加1后的估算值
+     */
+    public long add(String key) {
+        long hash = MurmurHash.hash64(key.getBytes(StandardCharsets.UTF_8));
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < rows.length; i++) {
+            min = Math.min(min, rows[i].incrementAndGet(index(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 估算值
+     */
+    public long estimate(String key) {
+        long hash = MurmurHash.hash64(key.getBytes(StandardCharsets.UTF_8));
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < rows.length; i++) {
+            min = Math.min(min, rows[i].get(index(hash, i)));
+        }
+        return min;
+    }
+
+    /**
+     * 所有计数减半，使旧的访问逐渐失去权重
+     */
+    public void decay() {
+        for (AtomicLongArray row : rows) {
+            for (int i = 0; i < width; i++) {
+                row.updateAndGet(i, value -> value >>> 1);
+            }
+        }
+    }
+
+    private int index(long hash, int row) {
+        //双重哈希，由64位哈希的高低两部分组合出每行的位置
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return Math.floorMod(combined, width);
+    }
+}
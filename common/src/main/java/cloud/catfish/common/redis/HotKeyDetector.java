@@ -0,0 +1,168 @@
+package cloud.catfish.common.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 热点key探测
+ * 按比例采样读取（包括本地副本命中）并计入Count-Min Sketch，估算读取次数超过阈值的key成为热点，
+ * 热点key的值在本地保留localTtl，期间的读取不再访问Redis。
+ * 每个统计窗口结束时计数减半，不再热的key被移出热点集合并删除本地副本。
+ * 本节点的写入会立即删除本地副本，其他节点的写入最多localTtl后可见。
+ * Created by catfish on 2026/10/19.
+ */
+@Slf4j
+public class HotKeyDetector implements DisposableBean {
+    private final HotKeyProperties properties;
+    private final CountMinSketch sketch;
+    private final ScheduledExecutorService scheduler;
+    /**
+     * 热点key及其估算的窗口内读取次数
+     */
+    private final Map<String, Long> hotKeys = new ConcurrentHashMap<>();
+    /**
+     * 本地副本，值为{@link LocalValue}或正在读取的占位对象
+     */
+    private final Map<String, Object> localValues = new ConcurrentHashMap<>();
+
+    public HotKeyDetector(HotKeyProperties properties) {
+        this.properties = properties;
+        this.sketch = new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-hot-key-decay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = properties.getWindow().toMillis();
+        scheduler.scheduleWithFixedDelay(this::decay, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 读取key，热点key优先使用本地副本
+     *
+     * @param key Redis中的key
+     * @param loader 从Redis读取的方法
+     * @return 读取到的值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        Object local = localValues.get(key);
+        if (local instanceof LocalValue cached && cached.expireAt > System.currentTimeMillis()) {
+            // 本地命中也要计数，否则热点key的计数在窗口结束减半后低于阈值，被移出热点集合
+            record(key);
+            return (T) cached.value;
+        }
+        // 读取前放入本次读取独有的占位对象，读取期间被invalidate删除后不再写入读到的旧值
+        Object loading = null;
+        if (hotKeys.containsKey(key)) {
+            Object placeholder = new Object();
+            boolean claimed = local == null ? localValues.putIfAbsent(key, placeholder) == null
+                    : local instanceof LocalValue && localValues.replace(key, local, placeholder);
+            if (claimed) {
+                loading = placeholder;
+            }
+        }
+        T value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            if (loading != null) {
+                localValues.remove(key, loading);
+            }
+            throw e;
+        }
+        record(key);
+        if (loading != null) {
+            if (value != null) {
+                localValues.replace(key, loading, new LocalValue(value, System.currentTimeMillis() + properties.getLocalTtl().toMillis()));
+            } else {
+                localValues.remove(key, loading);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 删除本地副本，本节点写入key后调用
+     */
+    public void invalidate(String key) {
+        localValues.remove(key);
+    }
+
+    /**
+     * 删除所有本地副本
+     */
+    public void invalidateAll() {
+        localValues.clear();
+    }
+
+    /**
+     * 当前的热点key，按估算读取次数降序
+     */
+    public Map<String, Long> getHotKeys() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        hotKeys.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void record(String key) {
+        double sampleRate = properties.getSampleRate();
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long estimate = (long) (sketch.add(key) / sampleRate);
+        if (estimate >= properties.getThreshold()
+                && (hotKeys.containsKey(key) || hotKeys.size() < properties.getMaxHotKeys())) {
+            if (hotKeys.put(key, estimate) == null) {
+                log.info("发现热点key: {}，估算读取次数: {}", key, estimate);
+            }
+        }
+    }
+
+    private void decay() {
+        try {
+            sketch.decay();
+            double sampleRate = properties.getSampleRate();
+            hotKeys.replaceAll((key, count) -> (long) (sketch.estimate(key) / sampleRate));
+            hotKeys.entrySet().removeIf(entry -> {
+                if (entry.getValue() < properties.getThreshold()) {
+                    localValues.remove(entry.getKey());
+                    return true;
+                }
+                return false;
+            });
+        } catch (Exception e) {
+            log.warn("热点key计数衰减失败", e);
+        }
+    }
+
+    private static class LocalValue {
+        private final Object value;
+        private final long expireAt;
+
+        LocalValue(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
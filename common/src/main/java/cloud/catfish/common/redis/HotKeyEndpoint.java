@@ -0,0 +1,24 @@
+package cloud.catfish.common.redis;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * 查看当前热点key的管理端点，通过 /actuator/hotkeys 访问
+ * Created by catfish on 2026/10/19.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+    private final HotKeyDetector hotKeyDetector;
+
+    public HotKeyEndpoint(HotKeyDetector hotKeyDetector) {
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    @ReadOperation
+    public Map<String, Long> hotKeys() {
+        return hotKeyDetector.getHotKeys();
+    }
+}
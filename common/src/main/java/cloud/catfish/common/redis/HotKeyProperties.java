@@ -0,0 +1,45 @@
+package cloud.catfish.common.redis;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 热点key探测配置
+ * Created by catfish on 2026/10/19.
+ */
+@Data
+public class HotKeyProperties {
+    /**
+     * 是否开启，关闭后所有读取直接访问Redis
+     */
+    private boolean enabled = true;
+    /**
+     * 采样比例，只有被采样的读取计入Count-Min Sketch
+     */
+    private double sampleRate = 0.1;
+    /**
+     * 一个统计窗口内的估算读取次数达到该值即视为热点
+     */
+    private long threshold = 1000;
+    /**
+     * 统计窗口，每个窗口结束时所有计数减半
+     */
+    private Duration window = Duration.ofSeconds(10);
+    /**
+     * 热点key本地副本的有效期，也是其他节点写入后本节点读到旧值的最长时间
+     */
+    private Duration localTtl = Duration.ofSeconds(1);
+    /**
+     * 最多同时保留的热点key数量
+     */
+    private int maxHotKeys = 1000;
+    /**
+     * Count-Min Sketch每行的计数器个数
+     */
+    private int sketchWidth = 4096;
+    /**
+     * Count-Min Sketch的行数
+     */
+    private int sketchDepth = 4;
+}
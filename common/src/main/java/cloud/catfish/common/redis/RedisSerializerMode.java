@@ -0,0 +1,16 @@
+package cloud.catfish.common.redis;
+
+/**
+ * Redis值序列化方式
+ * Created by catfish on 2026/10/19.
+ */
+public enum RedisSerializerMode {
+    /**
+     * JSON，类型信息为完整类名
+     */
+    JSON,
+    /**
+     * Smile二进制格式，已注册的类型只写入短别名
+     */
+    SMILE
+}
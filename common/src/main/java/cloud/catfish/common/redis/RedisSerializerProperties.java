@@ -0,0 +1,40 @@
+package cloud.catfish.common.redis;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis值序列化配置
+ * Created by catfish on 2026/10/19.
+ */
+@Data
+public class RedisSerializerProperties {
+    /**
+     * 序列化方式，切换为SMILE后仍能读取已有的JSON数据
+     */
+    private RedisSerializerMode mode = RedisSerializerMode.JSON;
+    /**
+     * 类型注册表，key为写入Redis的类型别名，value为完整类名；
+     * 别名一旦使用不能再指向其他类，否则已缓存的数据无法正确反序列化
+     */
+    private Map<String, String> types = new LinkedHashMap<>();
+    /**
+     * 大对象压缩
+     */
+    private Compression compression = new Compression();
+
+    @Data
+    public static class Compression {
+        /**
+         * 是否压缩写入的数据，开启前写入的数据仍可读取，但未升级的节点无法读取压缩后的数据。
+         * 无论是否开启都能读取压缩数据，需要分两次发布：先全部节点升级到能读取的版本，再开启写入
+         */
+        private boolean enabled = false;
+        /**
+         * 序列化后超过该字节数才压缩
+         */
+        private int threshold = 2048;
+    }
+}
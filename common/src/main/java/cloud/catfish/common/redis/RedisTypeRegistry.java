@@ -0,0 +1,69 @@
+package cloud.catfish.common.redis;
+
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * 序列化类型注册表，维护类型别名与类的双向映射
+ * 未注册的类型仍按完整类名写入
+ * Created by catfish on 2026/10/19.
+ */
+public class RedisTypeRegistry {
+    private final Map<String, Class<?>> classesById = new HashMap<>();
+    private final Map<Class<?>, String> idsByClass = new HashMap<>();
+
+    public RedisTypeRegistry(Map<String, String> types) {
+        register("list", ArrayList.class);
+        register("map", HashMap.class);
+        register("lmap", LinkedHashMap.class);
+        register("set", HashSet.class);
+        register("lset", LinkedHashSet.class);
+        register("long", Long.class);
+        register("decimal", BigDecimal.class);
+        register("date", Date.class);
+        if (types != null) {
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            types.forEach((id, className) -> {
+                try {
+                    register(id, ClassUtils.forName(className, classLoader));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("redis serializer type not found: " + className, e);
+                }
+            });
+        }
+    }
+
+    private void register(String id, Class<?> type) {
+        //别名中不能出现'.'，避免与按类名写入的类型冲突
+        if (id.indexOf('.') >= 0) {
+            throw new IllegalStateException("redis serializer type id must not contain '.': " + id);
+        }
+        Class<?> existing = classesById.get(id);
+        if (existing != null && existing != type) {
+            throw new IllegalStateException("redis serializer type id '" + id + "' already registered for " + existing.getName());
+        }
+        classesById.put(id, type);
+        idsByClass.put(type, id);
+    }
+
+    public String idOf(Class<?> type) {
+        return idsByClass.get(type);
+    }
+
+    public Class<?> classOf(String id) {
+        return classesById.get(id);
+    }
+
+    public Map<String, Class<?>> getTypes() {
+        return Collections.unmodifiableMap(classesById);
+    }
+}
@@ -0,0 +1,40 @@
+package cloud.catfish.common.redis;
+
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+
+/**
+ * 优先使用注册表中的别名作为类型标识，未注册的类型回退到完整类名
+ * Created by catfish on 2026/10/19.
+ */
+public class RegistryTypeIdResolver extends ClassNameIdResolver {
+    private final RedisTypeRegistry registry;
+
+    public RegistryTypeIdResolver(TypeFactory typeFactory, PolymorphicTypeValidator ptv, RedisTypeRegistry registry) {
+        super(typeFactory.constructType(Object.class), typeFactory, ptv);
+        this.registry = registry;
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        String id = registry.idOf(value.getClass());
+        return id != null ? id : super.idFromValue(value);
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> type) {
+        String id = registry.idOf(type);
+        return id != null ? id : super.idFromValueAndType(value, type);
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        Class<?> type = registry.classOf(id);
+        return type != null ? context.constructType(type) : super.typeFromId(context, id);
+    }
+}
@@ -0,0 +1,54 @@
+package cloud.catfish.common.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Smile二进制序列化器
+ * 写入统一使用Smile，读取时根据Smile头部(":)\n")判断格式，
+ * 不是Smile的数据交给JSON序列化器读取，便于从JSON平滑迁移。
+ * Created by catfish on 2026/10/19.
+ */
+public class SmileRedisSerializer implements RedisSerializer<Object> {
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final ObjectMapper smileMapper;
+    private final RedisSerializer<Object> fallbackSerializer;
+
+    public SmileRedisSerializer(ObjectMapper smileMapper, RedisSerializer<Object> fallbackSerializer) {
+        this.smileMapper = smileMapper;
+        this.fallbackSerializer = fallbackSerializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Could not write Smile: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!isSmile(bytes)) {
+            return fallbackSerializer.deserialize(bytes);
+        }
+        try {
+            return smileMapper.readValue(bytes, Object.class);
+        } catch (Exception e) {
+            throw new SerializationException("Could not read Smile: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        return bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+}
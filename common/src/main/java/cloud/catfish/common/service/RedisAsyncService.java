@@ -0,0 +1,44 @@
+package cloud.catfish.common.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Redis异步操作Service
+ * 命令发出后立即返回，调用方可以在等待Redis响应的同时处理其他工作
+ * Created by catfish on 2026/10/19.
+ */
+public interface RedisAsyncService {
+
+    /**
+     * 获取属性
+     */
+    CompletableFuture<Object> get(String key);
+
+    /**
+     * 保存属性
+     */
+    CompletableFuture<Boolean> set(String key, Object value, long time);
+
+    /**
+     * 批量获取属性，结果与keys顺序一致，不存在的为null
+     */
+    CompletableFuture<List<Object>> mGet(Collection<String> keys);
+
+    /**
+     * 批量保存属性并设置相同的过期时间
+     */
+    CompletableFuture<Void> mSetWithTtl(Map<String, ?> map, long time);
+
+    /**
+     * 设置整个Hash结构并设置过期时间
+     */
+    CompletableFuture<Boolean> hSetAllWithTtl(String key, Map<String, ?> map, long time);
+
+    /**
+     * 批量删除属性，使用UNLINK在后台释放内存
+     */
+    CompletableFuture<Long> delAll(Collection<String> keys);
+}
@@ -1,5 +1,6 @@
 package cloud.catfish.common.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -179,4 +180,24 @@ public interface RedisService {
      * 从List结构中移除属性
      */
     Long lRemove(String key, long count, Object value);
+
+    /**
+     * 批量获取属性，一次MGET，结果与keys顺序一致，不存在的为null
+     */
+    List<Object> mGet(Collection<String> keys);
+
+    /**
+     * 批量保存属性并设置相同的过期时间，一次pipeline
+     */
+    void mSetWithTtl(Map<String, ?> map, long time);
+
+    /**
+     * 设置整个Hash结构并设置过期时间，一次pipeline
+     */
+    Boolean hSetAllWithTtl(String key, Map<String, ?> map, long time);
+
+    /**
+     * 批量删除属性，使用UNLINK在后台释放内存
+     */
+    Long delAll(Collection<String> keys);
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package cloud.catfish.common.service.impl;
+
+import cloud.catfish.common.redis.ClientSideCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 开启客户端缓存后使用的RedisService
+ * 前缀匹配的key由{@link ClientSideCache}读取，Redis推送失效消息保证本地副本不会过期；
+ * 本类中的写操作完成后立即删除本地副本，本节点写入后马上读取也能读到新值。
+ * Created by catfish on 2026/10/19.
+ */
+public class ClientSideCachingRedisService extends RedisServiceImpl {
+    @Autowired
+    private ClientSideCache clientSideCache;
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public Object get(String key) {
+        if (!clientSideCache.isCacheable(key)) {
+            return super.get(key);
+        }
+        byte[] value = clientSideCache.get(key);
+        return value != null ? valueSerializer().deserialize(value) : null;
+    }
+
+    @Override
+    public void set(String key, Object value, long time) {
+        super.set(key, value, time);
+        clientSideCache.invalidate(key);
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        super.set(key, value);
+        clientSideCache.invalidate(key);
+    }
+
+    @Override
+    public Boolean del(String key) {
+        Boolean result = super.del(key);
+        clientSideCache.invalidate(key);
+        return result;
+    }
+
+    @Override
+    public Long del(List<String> keys) {
+        Long result = super.del(keys);
+        keys.forEach(clientSideCache::invalidate);
+        return result;
+    }
+
+    @Override
+    public Long incr(String key, long delta) {
+        Long result = super.incr(key, delta);
+        clientSideCache.invalidate(key);
+        return result;
+    }
+
+    @Override
+    public Long decr(String key, long delta) {
+        Long result = super.decr(key, delta);
+        clientSideCache.invalidate(key);
+        return result;
+    }
+
+    @Override
+    public void mSetWithTtl(Map<String, ?> map, long time) {
+        super.mSetWithTtl(map, time);
+        map.keySet().forEach(clientSideCache::invalidate);
+    }
+
+    @Override
+    public Long delAll(Collection<String> keys) {
+        Long result = super.delAll(keys);
+        keys.forEach(clientSideCache::invalidate);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+}
@@ -0,0 +1,72 @@
+package cloud.catfish.common.service.impl;
+
+import cloud.catfish.common.service.RedisAsyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Redis异步操作Service实现类
+ * 基于Lettuce的响应式连接，同一连接上并发发出的命令会被连续写出，效果等同于pipeline
+ * Created by catfish on 2026/10/19.
+ */
+public class RedisAsyncServiceImpl implements RedisAsyncService {
+    @Autowired
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Override
+    public CompletableFuture<Object> get(String key) {
+        return reactiveRedisTemplate.opsForValue().get(key).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> set(String key, Object value, long time) {
+        return reactiveRedisTemplate.opsForValue().set(key, value, Duration.ofSeconds(time)).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> mGet(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return reactiveRedisTemplate.opsForValue().multiGet(keys).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> mSetWithTtl(Map<String, ?> map, long time) {
+        Duration timeout = Duration.ofSeconds(time);
+        return Flux.fromIterable(map.entrySet())
+                .flatMap(entry -> reactiveRedisTemplate.opsForValue().set(entry.getKey(), entry.getValue(), timeout))
+                .then()
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hSetAllWithTtl(String key, Map<String, ?> map, long time) {
+        Duration timeout = Duration.ofSeconds(time);
+        if (map.isEmpty()) {
+            return reactiveRedisTemplate.expire(key, timeout).toFuture();
+        }
+        //zip同时订阅两个命令，HSET与EXPIRE按顺序写出而不必等待前一个响应
+        return Mono.zip(reactiveRedisTemplate.<String, Object>opsForHash().putAll(key, map), reactiveRedisTemplate.expire(key, timeout))
+                .map(Tuple2::getT2)
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Long> delAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        return reactiveRedisTemplate.unlink(keys.toArray(new String[0])).toFuture();
+    }
+}
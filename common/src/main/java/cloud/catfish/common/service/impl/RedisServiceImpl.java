@@ -1,47 +1,62 @@
 package cloud.catfish.common.service.impl;
 
+import cloud.catfish.common.redis.HotKeyDetector;
 import cloud.catfish.common.service.RedisService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis操作Service实现类
+ * get经过热点key探测，热点key读取本地副本；本类中修改字符串值的操作会删除对应的本地副本
  * Created by macro on 2020/3/3.
  */
 @Service
 public class RedisServiceImpl implements RedisService {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
+    @Autowired
+    private HotKeyDetector hotKeyDetector;
 
     @Override
     public void set(String key, Object value, long time) {
         redisTemplate.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+        hotKeyDetector.invalidate(key);
     }
 
     @Override
     public void set(String key, Object value) {
         redisTemplate.opsForValue().set(key, value);
+        hotKeyDetector.invalidate(key);
     }
 
     @Override
     public Object get(String key) {
-        return redisTemplate.opsForValue().get(key);
+        return hotKeyDetector.get(key, () -> redisTemplate.opsForValue().get(key));
     }
 
     @Override
     public Boolean del(String key) {
-        return redisTemplate.delete(key);
+        Boolean result = redisTemplate.delete(key);
+        hotKeyDetector.invalidate(key);
+        return result;
     }
 
     @Override
     public Long del(List<String> keys) {
-        return redisTemplate.delete(keys);
+        Long result = redisTemplate.delete(keys);
+        keys.forEach(hotKeyDetector::invalidate);
+        return result;
     }
 
     @Override
@@ -61,12 +76,16 @@ public class RedisServiceImpl implements RedisService {
 
     @Override
     public Long incr(String key, long delta) {
-        return redisTemplate.opsForValue().increment(key, delta);
+        Long result = redisTemplate.opsForValue().increment(key, delta);
+        hotKeyDetector.invalidate(key);
+        return result;
     }
 
     @Override
     public Long decr(String key, long delta) {
-        return redisTemplate.opsForValue().increment(key, -delta);
+        Long result = redisTemplate.opsForValue().increment(key, -delta);
+        hotKeyDetector.invalidate(key);
+        return result;
     }
 
     @Override
@@ -76,8 +95,11 @@ public class RedisServiceImpl implements RedisService {
 
     @Override
     public Boolean hSet(String key, String hashKey, Object value, long time) {
-        redisTemplate.opsForHash().put(key, hashKey, value);
-        return expire(key, time);
+        List<Object> results = pipelined(operations -> {
+            operations.opsForHash().put(key, hashKey, value);
+            operations.expire(key, time, TimeUnit.SECONDS);
+        });
+        return (Boolean) results.get(results.size() - 1);
     }
 
     @Override
@@ -92,8 +114,7 @@ public class RedisServiceImpl implements RedisService {
 
     @Override
     public Boolean hSetAll(String key, Map<String, Object> map, long time) {
-        redisTemplate.opsForHash().putAll(key, map);
-        return expire(key, time);
+        return hSetAllWithTtl(key, map, time);
     }
 
     @Override
@@ -133,9 +154,11 @@ public class RedisServiceImpl implements RedisService {
 
     @Override
     public Long sAdd(String key, long time, Object... values) {
-        Long count = redisTemplate.opsForSet().add(key, values);
-        expire(key, time);
-        return count;
+        List<Object> results = pipelined(operations -> {
+            operations.opsForSet().add(key, values);
+            operations.expire(key, time, TimeUnit.SECONDS);
+        });
+        return (Long) results.get(0);
     }
 
     @Override
@@ -175,9 +198,11 @@ public class RedisServiceImpl implements RedisService {
 
     @Override
     public Long lPush(String key, Object value, long time) {
-        Long index = redisTemplate.opsForList().rightPush(key, value);
-        expire(key, time);
-        return index;
+        List<Object> results = pipelined(operations -> {
+            operations.opsForList().rightPush(key, value);
+            operations.expire(key, time, TimeUnit.SECONDS);
+        });
+        return (Long) results.get(0);
     }
 
     @Override
@@ -187,13 +212,68 @@ public class RedisServiceImpl implements RedisService {
 
     @Override
     public Long lPushAll(String key, Long time, Object... values) {
-        Long count = redisTemplate.opsForList().rightPushAll(key, values);
-        expire(key, time);
-        return count;
+        List<Object> results = pipelined(operations -> {
+            operations.opsForList().rightPushAll(key, values);
+            operations.expire(key, time, TimeUnit.SECONDS);
+        });
+        return (Long) results.get(0);
     }
 
     @Override
     public Long lRemove(String key, long count, Object value) {
         return redisTemplate.opsForList().remove(key, count, value);
     }
+
+    @Override
+    public List<Object> mGet(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return redisTemplate.opsForValue().multiGet(keys);
+    }
+
+    @Override
+    public void mSetWithTtl(Map<String, ?> map, long time) {
+        if (map.isEmpty()) {
+            return;
+        }
+        pipelined(operations -> map.forEach((key, value) -> operations.opsForValue().set(key, value, time, TimeUnit.SECONDS)));
+        map.keySet().forEach(hotKeyDetector::invalidate);
+    }
+
+    @Override
+    public Boolean hSetAllWithTtl(String key, Map<String, ?> map, long time) {
+        if (map.isEmpty()) {
+            return expire(key, time);
+        }
+        List<Object> results = pipelined(operations -> {
+            operations.opsForHash().putAll(key, map);
+            operations.expire(key, time, TimeUnit.SECONDS);
+        });
+        return (Boolean) results.get(results.size() - 1);
+    }
+
+    @Override
+    public Long delAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0L;
+        }
+        Long result = redisTemplate.unlink(keys);
+        keys.forEach(hotKeyDetector::invalidate);
+        return result;
+    }
+
+    /**
+     * 在一次pipeline中执行多条命令，返回各命令的结果
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> pipelined(Consumer<RedisOperations<String, Object>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+    }
 }
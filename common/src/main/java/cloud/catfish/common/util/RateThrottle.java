@@ -0,0 +1,40 @@
+package cloud.catfish.common.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按每秒操作数限速，超出时休眠，用于预热、分析等批量访问Redis的后台任务
+ * 只在单个线程中使用，每秒操作数不大于0时不限速
+ * Created by catfish on 2026/10/19.
+ */
+public class RateThrottle {
+    private final double opsPerMillis;
+    private final long startNanos = System.nanoTime();
+    private double ops;
+
+    public RateThrottle(int opsPerSecond) {
+        this.opsPerMillis = opsPerSecond / 1000.0;
+    }
+
+    /**
+     * 登记count次操作，超出速率时休眠到允许的时间
+     *
+     * @param count 操作数，可以是小数，如多个key共用一次SCAN
+     */
+    public void acquire(double count) {
+        if (opsPerMillis <= 0) {
+            return;
+        }
+        ops += count;
+        long expectedMillis = (long) (ops / opsPerMillis);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (expectedMillis > elapsedMillis) {
+            try {
+                Thread.sleep(expectedMillis - elapsedMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("限速等待被中断", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package cloud.catfish.common.util;
+
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Redis key遍历工具类，使用SCAN代替KEYS，避免阻塞Redis
+ * Created by catfish on 2026/10/19.
+ */
+public class RedisScanUtil {
+    /**
+     * 每次SCAN的COUNT提示
+     */
+    public static final int DEFAULT_COUNT = 500;
+    /**
+     * 分页遍历时单页最多返回的key数量
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final long SCAN_TIMEOUT_SECONDS = 10;
+
+    private RedisScanUtil() {
+    }
+
+    /**
+     * 逐个回调匹配的key，达到上限后停止
+     *
+     * @param count SCAN的COUNT提示
+     * @param cap   最多回调的key数量
+     * @return 实际回调的key数量
+     */
+    public static long scan(RedisTemplate<String, ?> redisTemplate, String pattern, int count, long cap, Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(count).build();
+        long scanned = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (scanned < cap && cursor.hasNext()) {
+                consumer.accept(cursor.next());
+                scanned++;
+            }
+        }
+        return scanned;
+    }
+
+    /**
+     * 获取匹配的key，最多返回cap个
+     */
+    public static List<String> scanKeys(RedisTemplate<String, ?> redisTemplate, String pattern, int cap) {
+        List<String> keys = new ArrayList<>();
+        scan(redisTemplate, pattern, DEFAULT_COUNT, cap, keys::add);
+        return keys;
+    }
+
+    /**
+     * 分页遍历匹配的key，下一页使用返回的cursor继续，cursor为null时遍历结束
+     * 同一批SCAN结果不会被拆开，单页数量可能略多于pageSize；遍历期间新增或删除的key可能遗漏或重复
+     * 依赖Lettuce的单机连接，集群模式下的cursor无法跨请求续传
+     *
+     * @param cursor   上一页返回的cursor，首页传null
+     * @param pageSize 期望的单页数量，不超过{@link #MAX_PAGE_SIZE}
+     */
+    @SuppressWarnings("unchecked")
+    public static ScanPage scanPage(RedisTemplate<String, ?> redisTemplate, String pattern, String cursor, int pageSize) {
+        int limit = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        return redisTemplate.execute((RedisCallback<ScanPage>) connection -> {
+            RedisKeyAsyncCommands<byte[], byte[]> commands = (RedisKeyAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            ScanArgs args = ScanArgs.Builder.matches(pattern).limit(Math.min(DEFAULT_COUNT, limit * 2L));
+            ScanCursor scanCursor = ScanCursor.of(cursor == null || cursor.isEmpty() ? "0" : cursor);
+            List<String> keys = new ArrayList<>();
+            do {
+                KeyScanCursor<byte[]> result = LettuceFutures.awaitOrCancel(commands.scan(scanCursor, args), SCAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                for (byte[] key : result.getKeys()) {
+                    keys.add(keySerializer.deserialize(key));
+                }
+                scanCursor = result;
+            } while (!scanCursor.isFinished() && keys.size() < limit);
+            return new ScanPage(keys, scanCursor.isFinished() ? null : scanCursor.getCursor());
+        });
+    }
+
+    /**
+     * 分页遍历结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ScanPage {
+        /**
+         * 本页的key
+         */
+        private final List<String> keys;
+        /**
+         * 下一页的cursor，为null时遍历结束
+         */
+        private final String cursor;
+    }
+}
@@ -0,0 +1,46 @@
+package cloud.catfish.common.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 主从连接池沿用spring.datasource.druid中的设置，连接信息和连接池大小单独配置
+ * Created by catfish on 2026/10/19.
+ */
+class ReadWriteDataSourceConfigTest {
+
+    @Test
+    void poolKeepsSharedDruidSettings() throws Exception {
+        Map<String, String> source = new HashMap<>();
+        source.put("spring.datasource.druid.validation-query", "SELECT 1");
+        source.put("spring.datasource.druid.test-while-idle", "true");
+        source.put("spring.datasource.druid.max-wait", "3000");
+        source.put("spring.datasource.druid.time-between-eviction-runs-millis", "60000");
+        source.put("spring.datasource.druid.filters", "stat");
+        source.put("spring.datasource.druid.max-active", "100");
+        Binder binder = new Binder(new MapConfigurationPropertySource(source));
+        ReadWriteDataSourceProperties.Replica replica = new ReadWriteDataSourceProperties.Replica();
+        replica.setMaxActive(40);
+
+        try (DruidDataSource dataSource = ReadWriteDataSourceConfig.createPool(binder, "replica",
+                "jdbc:mysql://localhost:3307/test", "reader", "secret", replica)) {
+            assertEquals("SELECT 1", dataSource.getValidationQuery());
+            assertTrue(dataSource.isTestWhileIdle());
+            assertEquals(3000, dataSource.getMaxWait());
+            assertEquals(60000, dataSource.getTimeBetweenEvictionRunsMillis());
+            assertTrue(dataSource.getFilterClassNames().stream().anyMatch(name -> name.endsWith("StatFilter")));
+            // 连接信息和连接池大小以读写分离配置为准
+            assertEquals("jdbc:mysql://localhost:3307/test", dataSource.getUrl());
+            assertEquals("reader", dataSource.getUsername());
+            assertEquals(40, dataSource.getMaxActive());
+        }
+    }
+}
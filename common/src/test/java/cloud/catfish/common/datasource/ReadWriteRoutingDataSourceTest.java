@@ -0,0 +1,83 @@
+package cloud.catfish.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 读写分离路由：写请求走主库，只读事务和@ReadFromReplica走从库，从库不可用时回退主库
+ * Created by catfish on 2026/10/19.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(lagMonitor);
+
+    @AfterEach
+    void reset() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        while (DataSourceRouteHolder.isRead()) {
+            DataSourceRouteHolder.exitRead();
+        }
+    }
+
+    @Test
+    void routesToPrimaryByDefault() {
+        when(lagMonitor.isReplicaAvailable()).thenReturn(true);
+
+        assertEquals(DataSourceRoute.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesReadOnlyTransactionToReplica() {
+        when(lagMonitor.isReplicaAvailable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceRoute.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesMarkedReadToReplicaUntilOutermostExit() {
+        when(lagMonitor.isReplicaAvailable()).thenReturn(true);
+        DataSourceRouteHolder.enterRead();
+        DataSourceRouteHolder.enterRead();
+        DataSourceRouteHolder.exitRead();
+
+        assertEquals(DataSourceRoute.REPLICA, dataSource.determineCurrentLookupKey());
+
+        DataSourceRouteHolder.exitRead();
+        assertEquals(DataSourceRoute.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesMarkedReadInsideReadWriteTransactionToPrimary() {
+        when(lagMonitor.isReplicaAvailable()).thenReturn(true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        DataSourceRouteHolder.enterRead();
+
+        assertEquals(DataSourceRoute.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesReadOnlyActualTransactionToReplica() {
+        when(lagMonitor.isReplicaAvailable()).thenReturn(true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(DataSourceRoute.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaUnavailable() {
+        when(lagMonitor.isReplicaAvailable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        DataSourceRouteHolder.enterRead();
+
+        assertEquals(DataSourceRoute.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,111 @@
+package cloud.catfish.common.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 从库复制延迟检测：延迟超限、复制中断和从库不可达时判定为不可用
+ * Created by catfish on 2026/10/19.
+ */
+class ReplicaLagMonitorTest {
+
+    private static final long MAX_LAG_SECONDS = 5;
+
+    @Test
+    void replicaWithinLagIsAvailable() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaStatus("Seconds_Behind_Source", 2L), MAX_LAG_SECONDS, 0);
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaAvailable());
+        assertEquals(2L, monitor.getLastLagSeconds());
+    }
+
+    @Test
+    void replicaBeyondLagIsUnavailable() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaStatus("Seconds_Behind_Source", 30L), MAX_LAG_SECONDS, 0);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaAvailable());
+        assertEquals(30L, monitor.getLastLagSeconds());
+    }
+
+    @Test
+    void stoppedReplicationIsUnavailable() throws SQLException {
+        // 复制线程停止时Seconds_Behind_Master为NULL
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaStatus("Seconds_Behind_Master", null), MAX_LAG_SECONDS, 0);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaAvailable());
+        assertNull(monitor.getLastLagSeconds());
+    }
+
+    @Test
+    void unreachableReplicaIsUnavailable() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(dataSource, MAX_LAG_SECONDS, 0);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaAvailable());
+    }
+
+    @Test
+    void instanceWithoutReplicationIsAvailable() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(emptyStatus(), MAX_LAG_SECONDS, 0);
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaAvailable());
+        assertEquals(0L, monitor.getLastLagSeconds());
+    }
+
+    /**
+     * SHOW REPLICA STATUS返回一行，只有延迟一列
+     */
+    private static DataSource replicaStatus(String column, Long lagSeconds) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn(column);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(lagSeconds);
+        return dataSource(resultSet);
+    }
+
+    private static DataSource emptyStatus() throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenReturn(false);
+        return dataSource(resultSet);
+    }
+
+    private static DataSource dataSource(ResultSet resultSet) throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 数据处理模块配置属性
  * 
@@ -45,6 +48,11 @@ public class DataProcessingProperties {
      */
     private DataStats dataStats = new DataStats();
 
+    /**
+     * Redis内存分析配置
+     */
+    private RedisProfile redisProfile = new RedisProfile();
+
     @Data
     public static class ThreadPool {
         /**
@@ -81,9 +89,51 @@ public class DataProcessingProperties {
         private int retentionDays = 30;
 
         /**
-         * 清理批次大小
+         * 清理批次大小，每批按主键区间删除最多这么多行
          */
         private int batchSize = 500;
+
+        /**
+         * 每批删除后的休眠时间（毫秒）
+         */
+        private long sleepMillis = 100;
+
+        /**
+         * 从库延迟超过该秒数时暂停删除，小于等于0时不检查
+         */
+        private long maxReplicaLagSeconds = 10;
+
+        /**
+         * 从库延迟过大时每次等待的时间（毫秒）
+         */
+        private long lagBackoffMillis = 1000;
+
+        /**
+         * 按时间RANGE COLUMNS分区的表，清理时删除过期分区并预建分区，不再逐行删除
+         */
+        private List<PartitionedTable> partitionedTables = new ArrayList<>();
+    }
+
+    @Data
+    public static class PartitionedTable {
+        /**
+         * 表名
+         */
+        private String tableName;
+
+        /**
+         * 分区粒度
+         */
+        private Granularity granularity = Granularity.MONTH;
+
+        /**
+         * 当前分区之后预建的分区数
+         */
+        private int futurePartitions = 3;
+
+        public enum Granularity {
+            DAY, MONTH
+        }
     }
 
     @Data
@@ -99,9 +149,50 @@ public class DataProcessingProperties {
         private int intervalMinutes = 30;
 
         /**
-         * 同步批次大小
+         * 同步批次大小，每批一次batchUpdate并单独提交
          */
         private int batchSize = 1000;
+
+        /**
+         * 读取源表时的fetchSize，MySQL只有连接串开启useCursorFetch时才按该值分批读取，
+         * 否则同步查询逐行流式读取；useCursorFetch会让整个数据源都使用服务端预处理语句，只应在专用的同步数据源上开启
+         */
+        private int fetchSize = 1000;
+
+        /**
+         * 同步语句的缓存时间（秒），过期后重新读取两张表共有的字段，新增的字段最多这么久后开始同步
+         */
+        private int statementCacheSeconds = 300;
+
+        /**
+         * 是否按主键范围并行同步，多个表同时同步
+         */
+        private boolean parallel = false;
+
+        /**
+         * 并行同步时每个范围包含的需要同步的记录数，范围边界取自实际变更的主键
+         */
+        private long rangeSize = 100000;
+
+        /**
+         * 并行同步最多同时占用的数据库连接数，每个范围同时占用一个读取连接和一个写入连接
+         */
+        private int connectionBudget = 8;
+
+        /**
+         * 单个范围同步失败后的最大重试次数
+         */
+        private int maxRetries = 3;
+
+        /**
+         * 重试间隔（毫秒），第n次重试等待n倍间隔
+         */
+        private long retryIntervalMillis = 1000;
+
+        /**
+         * 增量同步只同步早于当前时间该秒数的记录，避免长事务晚提交的记录被检查点跳过
+         */
+        private int checkpointLagSeconds = 5;
     }
 
     @Data
@@ -121,4 +212,47 @@ public class DataProcessingProperties {
          */
         private int retentionDays = 90;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class RedisProfile {
+        /**
+         * key采样比例
+         */
+        private double sampleRate = 0.05;
+
+        /**
+         * 每次SCAN的COUNT
+         */
+        private int scanCount = 200;
+
+        /**
+         * 最多遍历的key数量
+         */
+        private long maxScannedKeys = 10_000_000;
+
+        /**
+         * 最多采样的key数量
+         */
+        private long maxSampledKeys = 50_000;
+
+        /**
+         * 每个pipeline分析的key数量
+         */
+        private int pipelineSize = 50;
+
+        /**
+         * 每秒最多发送的命令数
+         */
+        private int maxCommandsPerSecond = 2000;
+
+        /**
+         * 按前缀归类时最多取的段数
+         */
+        private int prefixDepth = 3;
+
+        /**
+         * 分析报告保留天数
+         */
+        private int reportRetentionDays = 7;
+    }
+}
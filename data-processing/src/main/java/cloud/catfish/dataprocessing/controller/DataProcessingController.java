@@ -1,8 +1,12 @@
 package cloud.catfish.dataprocessing.controller;
 
 import cloud.catfish.common.api.CommonResult;
+import cloud.catfish.common.redis.HotKeyDetector;
+import cloud.catfish.common.util.RedisScanUtil;
 import cloud.catfish.dataprocessing.config.DataProcessingProperties;
+import cloud.catfish.dataprocessing.handler.RedisProfileJobHandler;
 import cloud.catfish.dataprocessing.service.DataProcessingService;
+import cloud.catfish.dataprocessing.service.SyncCheckpointStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,7 +20,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -47,8 +50,19 @@ public class DataProcessingController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private HotKeyDetector hotKeyDetector;
+
+    @Autowired
+    private SyncCheckpointStore checkpointStore;
+
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * 同步状态最多读取的同步任务数
+     */
+    private static final int MAX_SYNC_STATUS_KEYS = 1000;
+
     /**
      * 获取模块状态信息
      */
@@ -100,7 +114,8 @@ public class DataProcessingController {
             String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
             String statsKey = "data_stats:" + tableName + ":" + type + ":" + date;
             
-            String statsJson = redisTemplate.opsForValue().get(statsKey);
+            // 统计数据读多写少，热点时读取本地副本
+            String statsJson = hotKeyDetector.get(statsKey, () -> redisTemplate.opsForValue().get(statsKey));
             if (statsJson == null) {
                 return CommonResult.failed("未找到统计数据，请先执行统计任务");
             }
@@ -115,14 +130,36 @@ public class DataProcessingController {
     }
 
     /**
-     * 获取所有统计数据键
+     * 获取Redis内存分析报告
+     */
+    @GetMapping("/redis/profile")
+    @Operation(summary = "获取Redis内存分析报告", description = "获取redisProfileJob最近一次生成的按key前缀归类的内存分析报告")
+    public CommonResult<Map<String, Object>> getRedisProfile() {
+        try {
+            String reportJson = redisTemplate.opsForValue().get(RedisProfileJobHandler.REPORT_KEY);
+            if (reportJson == null) {
+                return CommonResult.failed("未找到分析报告，请先执行redisProfileJob");
+            }
+            
+            Map<String, Object> report = objectMapper.readValue(reportJson, Map.class);
+            return CommonResult.success(report);
+            
+        } catch (Exception e) {
+            log.error("获取Redis内存分析报告失败", e);
+            return CommonResult.failed("获取Redis内存分析报告失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 分页获取统计数据键
      */
     @GetMapping("/stats/keys")
-    @Operation(summary = "获取统计数据键", description = "获取所有可用的统计数据键")
-    public CommonResult<Set<String>> getStatsKeys() {
+    @Operation(summary = "获取统计数据键", description = "基于SCAN分页获取统计数据键，返回的cursor为空时遍历结束")
+    public CommonResult<RedisScanUtil.ScanPage> getStatsKeys(
+            @Parameter(description = "上一页返回的cursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "100") int size) {
         try {
-            Set<String> keys = redisTemplate.keys("data_stats:*");
-            return CommonResult.success(keys);
+            return CommonResult.success(RedisScanUtil.scanPage(redisTemplate, "data_stats:*", cursor, size));
             
         } catch (Exception e) {
             log.error("获取统计数据键失败", e);
@@ -135,17 +172,10 @@ public class DataProcessingController {
      */
     @GetMapping("/sync/status")
     @Operation(summary = "获取同步状态", description = "获取数据同步的状态信息")
-    public CommonResult<Map<String, Object>> getSyncStatus() {
+    public CommonResult<Map<String, SyncCheckpointStore.Checkpoint>> getSyncStatus() {
         try {
-            Set<String> syncKeys = redisTemplate.keys("data_sync:last_time:*");
-            Map<String, Object> syncStatus = new HashMap<>();
-            
-            for (String key : syncKeys) {
-                String lastSyncTime = redisTemplate.opsForValue().get(key);
-                String syncPair = key.replace("data_sync:last_time:", "");
-                syncStatus.put(syncPair, lastSyncTime);
-            }
-            
+            // 每个同步任务的检查点：已同步的最大(updated_time, id)
+            Map<String, SyncCheckpointStore.Checkpoint> syncStatus = checkpointStore.getAll(MAX_SYNC_STATUS_KEYS);
             return CommonResult.success(syncStatus);
             
         } catch (Exception e) {
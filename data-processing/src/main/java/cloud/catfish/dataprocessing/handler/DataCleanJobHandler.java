@@ -1,6 +1,8 @@
 package cloud.catfish.dataprocessing.handler;
 
+import cloud.catfish.dataprocessing.config.DataProcessingProperties;
 import cloud.catfish.dataprocessing.service.DataProcessingService;
+import cloud.catfish.dataprocessing.service.PartitionRetentionService;
 import com.xxl.job.core.handler.annotation.XxlJob;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import java.util.List;
 /**
  * 数据清理任务处理器
  * 用于清理过期数据，支持多表清理
+ * 登记在data.processing.data-clean.partitioned-tables中的分区表直接删除过期分区，其余表按主键分批删除
  * 
  * @author catfish
  * @since 1.0.0
@@ -24,6 +27,9 @@ public class DataCleanJobHandler extends BaseJobHandler {
     @Autowired
     private DataProcessingService dataProcessingService;
 
+    @Autowired
+    private PartitionRetentionService partitionRetentionService;
+
     /**
      * 数据清理任务
      * 参数格式: tableName1:retentionDays1,tableName2:retentionDays2
@@ -48,26 +54,34 @@ public class DataCleanJobHandler extends BaseJobHandler {
             throw new IllegalArgumentException("没有有效的清理任务");
         }
 
-        int totalCleaned = 0;
+        long totalCleaned = 0;
         StringBuilder result = new StringBuilder();
 
         for (CleanTask task : cleanTasks) {
             try {
                 logProgress("开始清理表: %s, 保留天数: %d", task.getTableName(), task.getRetentionDays());
                 
-                // 获取清理前的记录数
-                long beforeCount = dataProcessingService.getTableCount(task.getTableName());
-                
-                // 执行清理
-                int cleanedCount = dataProcessingService.cleanExpiredData(task.getTableName(), task.getRetentionDays());
-                
-                // 获取清理后的记录数
-                long afterCount = dataProcessingService.getTableCount(task.getTableName());
-                
-                totalCleaned += cleanedCount;
-                
-                String taskResult = String.format("表[%s]: 清理前=%d, 清理后=%d, 删除=%d", 
-                    task.getTableName(), beforeCount, afterCount, cleanedCount);
+                String taskResult;
+                DataProcessingProperties.PartitionedTable partitionedTable =
+                        partitionRetentionService.getPartitionedTable(task.getTableName());
+                if (partitionedTable != null && !partitionRetentionService.isPartitioned(task.getTableName())) {
+                    // 登记了分区但尚未执行sql/partition_retention.sql转换，仍按分批删除清理
+                    log.warn("表[{}]登记为分区表但未分区，按分批删除清理", task.getTableName());
+                    partitionedTable = null;
+                }
+                if (partitionedTable != null) {
+                    // 分区表删除过期分区，删除数为information_schema中的估算值
+                    PartitionRetentionService.PurgeResult purgeResult =
+                            partitionRetentionService.purge(partitionedTable, task.getRetentionDays());
+                    totalCleaned += purgeResult.getEstimatedRows();
+                    taskResult = String.format("表[%s]: 删除分区=%d, 新建分区=%d, 删除约%d行", task.getTableName(),
+                            purgeResult.getDroppedPartitions(), purgeResult.getCreatedPartitions(), purgeResult.getEstimatedRows());
+                } else {
+                    // 执行分批清理，删除数为各批DELETE影响行数之和
+                    int cleanedCount = dataProcessingService.cleanExpiredData(task.getTableName(), task.getRetentionDays());
+                    totalCleaned += cleanedCount;
+                    taskResult = String.format("表[%s]: 删除=%d", task.getTableName(), cleanedCount);
+                }
                 
                 result.append(taskResult).append("; ");
                 logProgress(taskResult);
@@ -1,18 +1,21 @@
 package cloud.catfish.dataprocessing.handler;
 
+import cloud.catfish.dataprocessing.config.DataProcessingProperties;
 import cloud.catfish.dataprocessing.service.DataProcessingService;
+import cloud.catfish.dataprocessing.service.SyncCheckpointStore;
 import com.xxl.job.core.handler.annotation.XxlJob;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * 数据同步任务处理器
@@ -29,10 +32,7 @@ public class DataSyncJobHandler extends BaseJobHandler {
     private DataProcessingService dataProcessingService;
 
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
-
-    private static final String SYNC_TIME_KEY_PREFIX = "data_sync:last_time:";
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private SyncCheckpointStore checkpointStore;
 
     /**
      * 数据同步任务
@@ -58,6 +58,10 @@ public class DataSyncJobHandler extends BaseJobHandler {
             throw new IllegalArgumentException("没有有效的同步任务");
         }
 
+        if (properties.getDataSync().isParallel()) {
+            return doParallelSync(syncTasks);
+        }
+
         int totalSynced = 0;
         StringBuilder result = new StringBuilder();
 
@@ -65,23 +69,20 @@ public class DataSyncJobHandler extends BaseJobHandler {
             try {
                 logProgress("开始同步数据: %s -> %s", task.getSourceTable(), task.getTargetTable());
                 
-                // 获取上次同步时间
-                LocalDateTime lastSyncTime = getLastSyncTime(task.getSourceTable(), task.getTargetTable());
-                logProgress("上次同步时间: %s", lastSyncTime.format(FORMATTER));
+                // 获取同步检查点
+                SyncCheckpointStore.Checkpoint checkpoint = checkpointStore.get(task.getSourceTable(), task.getTargetTable());
+                logProgress("同步检查点: %s", checkpoint != null ? checkpoint : "无，从24小时前开始");
                 
                 // 获取源表记录数
                 long sourceCount = dataProcessingService.getTableCount(task.getSourceTable());
                 
-                // 执行同步
-                int syncedCount = dataProcessingService.syncData(
+                // 执行同步，检查点随每批提交更新
+                int syncedCount = dataProcessingService.syncIncremental(
                     task.getSourceTable(), 
                     task.getTargetTable(), 
-                    lastSyncTime
+                    LocalDateTime.now().minusDays(1)
                 );
                 
-                // 更新同步时间
-                updateLastSyncTime(task.getSourceTable(), task.getTargetTable(), LocalDateTime.now());
-                
                 totalSynced += syncedCount;
                 
                 String taskResult = String.format("同步[%s->%s]: 源表记录数=%d, 同步记录数=%d", 
@@ -104,54 +105,124 @@ public class DataSyncJobHandler extends BaseJobHandler {
     }
 
     /**
-     * 全量数据同步任务
-     * 参数格式: sourceTable1:targetTable1,sourceTable2:targetTable2
+     * 并行同步：每个表按需要同步的记录的主键切分成多个范围，每个范围包含rangeSize条记录，所有表的范围一起提交到线程池，
+     * 同时执行的范围数受数据库连接预算限制，失败的范围单独重试，一个表的所有范围都成功后才推进其检查点
      * 
-     * @param param 任务参数
+     * @param syncTasks 同步任务
+     * @return 执行结果
      */
-    @XxlJob("dataFullSyncJob")
-    public void dataFullSyncJob(String param) {
-        execute(param);
+    private String doParallelSync(List<SyncTask> syncTasks) throws InterruptedException {
+        DataProcessingProperties.DataSync config = properties.getDataSync();
+        Semaphore connectionBudget = new Semaphore(Math.max(1, config.getConnectionBudget() / 2));
+        List<PendingSync> pendingSyncs = new ArrayList<>();
+        StringBuilder result = new StringBuilder();
+
+        for (SyncTask task : syncTasks) {
+            try {
+                SyncCheckpointStore.Checkpoint checkpoint = checkpointStore.get(task.getSourceTable(), task.getTargetTable());
+                // 范围同步使用时间闭区间，检查点时间上已同步的记录会再写一次，写入是幂等的
+                LocalDateTime fromTime = checkpoint != null ? checkpoint.getUpdatedTime() : LocalDateTime.now().minusDays(1);
+                LocalDateTime toTime = dataProcessingService.getSyncUpperBound();
+                List<CompletableFuture<Integer>> futures = new ArrayList<>();
+                long rangeSize = Math.max(1, config.getRangeSize());
+                long fromId = Long.MIN_VALUE;
+                Long toId;
+                // 边界逐个查询，前面的范围在查询后续边界时已经开始同步
+                while ((toId = dataProcessingService.getSyncRangeEnd(task.getSourceTable(), fromTime, toTime, fromId, rangeSize)) != null) {
+                    handleInterrupt();
+                    // 拿到连接预算后再提交，排队的范围不会占满线程池
+                    connectionBudget.acquire();
+                    futures.add(submitRange(task, fromTime, toTime, fromId, toId, connectionBudget));
+                    if (toId == Long.MAX_VALUE) {
+                        break;
+                    }
+                    fromId = toId + 1;
+                }
+                logProgress("已提交同步[%s->%s]: 时间范围=[%s, %s], 范围数=%d",
+                    task.getSourceTable(), task.getTargetTable(), fromTime, toTime, futures.size());
+                pendingSyncs.add(new PendingSync(task, toTime, futures));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                String errorMsg = String.format("同步[%s->%s]失败: %s",
+                    task.getSourceTable(), task.getTargetTable(), e.getMessage());
+                log.error(errorMsg, e);
+                result.append(errorMsg).append("; ");
+            }
+        }
+
+        int totalSynced = 0;
+        for (PendingSync pending : pendingSyncs) {
+            SyncTask task = pending.task;
+            try {
+                int syncedCount = 0;
+                for (CompletableFuture<Integer> future : pending.futures) {
+                    syncedCount += future.join();
+                }
+                // 同步上界之前的记录已全部同步
+                checkpointStore.save(task.getSourceTable(), task.getTargetTable(),
+                    new SyncCheckpointStore.Checkpoint(pending.toTime, Long.MAX_VALUE));
+                totalSynced += syncedCount;
+
+                String taskResult = String.format("并行同步[%s->%s]: 范围数=%d, 同步记录数=%d",
+                    task.getSourceTable(), task.getTargetTable(), pending.futures.size(), syncedCount);
+                result.append(taskResult).append("; ");
+                logProgress(taskResult);
+            } catch (CompletionException e) {
+                String errorMsg = String.format("同步[%s->%s]失败: %s",
+                    task.getSourceTable(), task.getTargetTable(), e.getCause().getMessage());
+                log.error(errorMsg, e.getCause());
+                result.append(errorMsg).append("; ");
+            }
+        }
+
+        return String.format("数据并行同步完成，总同步记录数: %d。详情: %s", totalSynced, result.toString());
+    }
+
+    private CompletableFuture<Integer> submitRange(SyncTask task, LocalDateTime fromTime, LocalDateTime toTime, long fromId, long toId,
+                                                   Semaphore connectionBudget) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return syncRangeWithRetry(task, fromTime, toTime, fromId, toId);
+            } finally {
+                connectionBudget.release();
+            }
+        }, taskExecutor);
     }
 
     /**
-     * 获取上次同步时间
-     * 
-     * @param sourceTable 源表
-     * @param targetTable 目标表
-     * @return 上次同步时间
+     * 同步一个主键范围，范围内的写入是幂等的，失败后整体重试
      */
-    private LocalDateTime getLastSyncTime(String sourceTable, String targetTable) {
-        String key = SYNC_TIME_KEY_PREFIX + sourceTable + ":" + targetTable;
-        String lastSyncTimeStr = redisTemplate.opsForValue().get(key);
-        
-        if (StringUtils.hasText(lastSyncTimeStr)) {
+    private int syncRangeWithRetry(SyncTask task, LocalDateTime fromTime, LocalDateTime toTime, long fromId, long toId) {
+        DataProcessingProperties.DataSync config = properties.getDataSync();
+        for (int attempt = 1; ; attempt++) {
             try {
-                return LocalDateTime.parse(lastSyncTimeStr, FORMATTER);
-            } catch (Exception e) {
-                log.warn("解析上次同步时间失败: {}, 使用默认时间", lastSyncTimeStr);
+                return dataProcessingService.syncDataRange(task.getSourceTable(), task.getTargetTable(), fromTime, toTime, fromId, toId);
+            } catch (RuntimeException e) {
+                if (attempt > config.getMaxRetries()) {
+                    throw e;
+                }
+                log.warn("同步范围失败，第{}次重试: {} -> {}, id=[{}, {}]",
+                    attempt, task.getSourceTable(), task.getTargetTable(), fromId, toId, e);
+                try {
+                    Thread.sleep(config.getRetryIntervalMillis() * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
             }
         }
-        
-        // 默认返回24小时前
-        return LocalDateTime.now().minusDays(1);
     }
 
     /**
-     * 更新上次同步时间
+     * 全量数据同步任务
+     * 参数格式: sourceTable1:targetTable1,sourceTable2:targetTable2
      * 
-     * @param sourceTable 源表
-     * @param targetTable 目标表
-     * @param syncTime 同步时间
+     * @param param 任务参数
      */
-    private void updateLastSyncTime(String sourceTable, String targetTable, LocalDateTime syncTime) {
-        String key = SYNC_TIME_KEY_PREFIX + sourceTable + ":" + targetTable;
-        String syncTimeStr = syncTime.format(FORMATTER);
-        
-        // 设置过期时间为7天
-        redisTemplate.opsForValue().set(key, syncTimeStr, 7, TimeUnit.DAYS);
-        
-        log.debug("更新同步时间: {} = {}", key, syncTimeStr);
+    @XxlJob("dataFullSyncJob")
+    public void dataFullSyncJob(String param) {
+        execute(param);
     }
 
     /**
@@ -199,6 +270,21 @@ public class DataSyncJobHandler extends BaseJobHandler {
         }
     }
 
+    /**
+     * 已提交的并行同步
+     */
+    private static class PendingSync {
+        private final SyncTask task;
+        private final LocalDateTime toTime;
+        private final List<CompletableFuture<Integer>> futures;
+
+        PendingSync(SyncTask task, LocalDateTime toTime, List<CompletableFuture<Integer>> futures) {
+            this.task = task;
+            this.toTime = toTime;
+            this.futures = futures;
+        }
+    }
+
     /**
      * 同步任务内部类
      */
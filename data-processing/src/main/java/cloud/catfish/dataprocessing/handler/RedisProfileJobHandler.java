@@ -0,0 +1,315 @@
+package cloud.catfish.dataprocessing.handler;
+
+import cloud.catfish.common.util.RateThrottle;
+import cloud.catfish.common.util.RedisScanUtil;
+import cloud.catfish.dataprocessing.config.DataProcessingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xxl.job.core.handler.annotation.XxlJob;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.IntegerOutput;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisConnectionUtils;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Redis内存分析任务处理器
+ * 使用SCAN遍历key并按比例采样，对采样的key在pipeline中执行MEMORY USAGE、PTTL和OBJECT FREQ/IDLETIME，
+ * 按key前缀归类，生成各类key的内存占用、大小分位数、TTL分布和永不过期key数量的报告。
+ * 各类key的数量和内存按实际采样比例（采样数/遍历数）估算，达到采样上限后继续遍历只用于计数。
+ * 按每秒命令数限速，遍历和采样数量都有上限，可以在生产环境执行。
+ * 报告以JSON保存在Redis中，通过 /api/data-processing/redis/profile 查看。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RedisProfileJobHandler extends BaseJobHandler {
+
+    /**
+     * 最近一次分析报告的key
+     */
+    public static final String REPORT_KEY = "redis_profile:latest";
+
+    private static final byte[] USAGE = "USAGE".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SAMPLES = "SAMPLES".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SAMPLES_COUNT = "5".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FREQ = "FREQ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] IDLETIME = "IDLETIME".getBytes(StandardCharsets.UTF_8);
+    private static final int TOP_KEYS = 20;
+    private static final long[] TTL_BOUNDS = {3600, 86400, 604800};
+    private static final String[] TTL_BUCKETS = {"<1h", "1h~1d", "1d~7d", ">=7d"};
+    // 数字、UUID/哈希值、日期这类段视为ID，不再作为前缀的一部分
+    private static final Pattern ID_SEGMENT = Pattern.compile("\\d+|[0-9a-fA-F-]{16,}|\\d{4}-\\d{2}-\\d{2}.*");
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Redis内存分析任务
+     * 参数为要分析的key模式，为空时分析全部key
+     *
+     * @param param 任务参数
+     */
+    @XxlJob("redisProfileJob")
+    public void redisProfileJob(String param) {
+        execute(param);
+    }
+
+    @Override
+    protected String doExecute(String param) throws Exception {
+        String pattern = StringUtils.hasText(param) ? param.trim() : "*";
+        DataProcessingProperties.RedisProfile config = properties.getRedisProfile();
+        boolean lfu = isLfuPolicy(redisTemplate);
+        ProfileRun run = new ProfileRun(config, lfu);
+
+        long scanned = RedisScanUtil.scan(redisTemplate, pattern, config.getScanCount(), config.getMaxScannedKeys(), run::offer);
+        run.flush();
+
+        Map<String, Object> report = run.report(pattern, scanned);
+        redisTemplate.opsForValue().set(REPORT_KEY, objectMapper.writeValueAsString(report),
+                config.getReportRetentionDays(), TimeUnit.DAYS);
+        return String.format("Redis内存分析完成，遍历key: %d, 采样key: %d, key类别: %d",
+                scanned, run.sampled, run.families.size());
+    }
+
+    /**
+     * 淘汰策略为LFU时只能使用OBJECT FREQ，否则只能使用OBJECT IDLETIME；无法读取配置时按非LFU处理
+     */
+    static boolean isLfuPolicy(RedisTemplate<String, ?> redisTemplate) {
+        try {
+            Properties config = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                    connection.serverCommands().getConfig("maxmemory-policy"));
+            String policy = config != null ? config.getProperty("maxmemory-policy") : null;
+            return policy != null && policy.contains("lfu");
+        } catch (Exception e) {
+            log.warn("读取maxmemory-policy失败，使用OBJECT IDLETIME", e);
+            return false;
+        }
+    }
+
+    /**
+     * 在一个pipeline中读取每个key的MEMORY USAGE、PTTL和OBJECT FREQ/IDLETIME，结果中每个key依次对应3项。
+     * MEMORY和OBJECT是原始命令，需要指定IntegerOutput，否则Lettuce不知道按整数解析返回值
+     */
+    static List<Object> readKeyStats(RedisConnectionFactory connectionFactory, List<String> keys, boolean lfu) {
+        RedisConnection connection = RedisConnectionUtils.getConnection(connectionFactory);
+        try {
+            if (!(connection instanceof LettuceConnection lettuce)) {
+                throw new IllegalStateException("Redis内存分析需要Lettuce连接: " + connection.getClass().getName());
+            }
+            lettuce.openPipeline();
+            try {
+                for (String key : keys) {
+                    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                    lettuce.execute("MEMORY", new IntegerOutput<>(ByteArrayCodec.INSTANCE), USAGE, rawKey, SAMPLES, SAMPLES_COUNT);
+                    lettuce.keyCommands().pTtl(rawKey);
+                    lettuce.execute("OBJECT", new IntegerOutput<>(ByteArrayCodec.INSTANCE), lfu ? FREQ : IDLETIME, rawKey);
+                }
+            } catch (RuntimeException e) {
+                try {
+                    lettuce.closePipeline();
+                } catch (RuntimeException closeException) {
+                    e.addSuppressed(closeException);
+                }
+                throw e;
+            }
+            return lettuce.closePipeline();
+        } finally {
+            RedisConnectionUtils.releaseConnection(connection, connectionFactory);
+        }
+    }
+
+    /**
+     * key所属的类别：取前prefixDepth段，遇到ID段时截断，截断后以 :* 结尾
+     */
+    static String family(String key, int prefixDepth) {
+        String[] segments = key.split(":", -1);
+        StringBuilder family = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if (i >= prefixDepth || ID_SEGMENT.matcher(segments[i]).matches()) {
+                return family.append('*').toString();
+            }
+            family.append(segments[i]);
+            if (i < segments.length - 1) {
+                family.append(':');
+            }
+        }
+        return family.toString();
+    }
+
+    /**
+     * 一次分析的状态
+     */
+    private class ProfileRun {
+        private final DataProcessingProperties.RedisProfile config;
+        private final boolean lfu;
+        private final RateThrottle throttle;
+        private final Map<String, FamilyStats> families = new HashMap<>();
+        private final PriorityQueue<Map<String, Object>> topKeys =
+                new PriorityQueue<>(Comparator.comparingLong(key -> (Long) key.get("bytes")));
+        private final List<String> batch = new ArrayList<>();
+        private long sampled;
+
+        ProfileRun(DataProcessingProperties.RedisProfile config, boolean lfu) {
+            this.config = config;
+            this.lfu = lfu;
+            this.throttle = new RateThrottle(config.getMaxCommandsPerSecond());
+        }
+
+        void offer(String key) {
+            // 每scanCount个key对应一次SCAN命令
+            throttle.acquire(1.0 / config.getScanCount());
+            if (sampled >= config.getMaxSampledKeys() || ThreadLocalRandom.current().nextDouble() >= config.getSampleRate()) {
+                return;
+            }
+            batch.add(key);
+            sampled++;
+            if (batch.size() >= config.getPipelineSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            handleInterrupt();
+            List<Object> results = readKeyStats(redisTemplate.getRequiredConnectionFactory(), batch, lfu);
+            for (int i = 0; i < batch.size(); i++) {
+                Object bytes = results.get(i * 3);
+                Object pttl = results.get(i * 3 + 1);
+                Object access = results.get(i * 3 + 2);
+                // 采样后key已被删除
+                if (!(bytes instanceof Long size) || !(pttl instanceof Long ttl) || ttl == -2) {
+                    continue;
+                }
+                String key = batch.get(i);
+                families.computeIfAbsent(family(key, config.getPrefixDepth()), k -> new FamilyStats())
+                        .add(size, ttl, access instanceof Long value ? value : null);
+                offerTopKey(key, size, ttl);
+            }
+            throttle.acquire(batch.size() * 3);
+            batch.clear();
+        }
+
+        private void offerTopKey(String key, long size, long ttl) {
+            if (topKeys.size() >= TOP_KEYS && (Long) topKeys.peek().get("bytes") >= size) {
+                return;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", key);
+            entry.put("bytes", size);
+            entry.put("ttlSeconds", ttl < 0 ? -1 : ttl / 1000);
+            topKeys.offer(entry);
+            if (topKeys.size() > TOP_KEYS) {
+                topKeys.poll();
+            }
+        }
+
+        Map<String, Object> report(String pattern, long scanned) {
+            double sampleRate = config.getSampleRate();
+            // 达到采样上限后不再采样，按实际比例估算
+            double effectiveRate = scanned > 0 ? Math.min(1.0, (double) sampled / scanned) : sampleRate;
+            List<Map<String, Object>> familyReports = new ArrayList<>();
+            families.forEach((family, stats) -> familyReports.add(stats.report(family, effectiveRate, lfu)));
+            familyReports.sort(Comparator.comparingLong((Map<String, Object> report) -> (Long) report.get("estimatedBytes")).reversed());
+            List<Map<String, Object>> bigKeys = new ArrayList<>(topKeys);
+            bigKeys.sort(Comparator.comparingLong((Map<String, Object> key) -> (Long) key.get("bytes")).reversed());
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", getCurrentTimeString());
+            report.put("pattern", pattern);
+            report.put("scannedKeys", scanned);
+            report.put("sampledKeys", sampled);
+            report.put("sampleRate", sampleRate);
+            report.put("effectiveSampleRate", effectiveRate);
+            report.put("truncated", scanned >= config.getMaxScannedKeys());
+            report.put("accessMetric", lfu ? "freq" : "idleSeconds");
+            report.put("families", familyReports);
+            report.put("bigKeys", bigKeys);
+            return report;
+        }
+    }
+
+    /**
+     * 一类key的采样统计
+     */
+    private static class FamilyStats {
+        private final List<Long> sizes = new ArrayList<>();
+        private final long[] ttlBuckets = new long[TTL_BUCKETS.length];
+        private long totalBytes;
+        private long noExpire;
+        private long accessSum;
+        private long accessCount;
+
+        void add(long size, long pttl, Long access) {
+            sizes.add(size);
+            totalBytes += size;
+            if (pttl < 0) {
+                noExpire++;
+            } else {
+                long ttlSeconds = pttl / 1000;
+                int bucket = 0;
+                while (bucket < TTL_BOUNDS.length && ttlSeconds >= TTL_BOUNDS[bucket]) {
+                    bucket++;
+                }
+                ttlBuckets[bucket]++;
+            }
+            if (access != null) {
+                accessSum += access;
+                accessCount++;
+            }
+        }
+
+        Map<String, Object> report(String family, double sampleRate, boolean lfu) {
+            sizes.sort(null);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("family", family);
+            report.put("sampledKeys", (long) sizes.size());
+            report.put("estimatedKeys", Math.round(sizes.size() / sampleRate));
+            report.put("estimatedBytes", Math.round(totalBytes / sampleRate));
+            report.put("p50Bytes", percentile(0.5));
+            report.put("p90Bytes", percentile(0.9));
+            report.put("p99Bytes", percentile(0.99));
+            report.put("maxBytes", sizes.get(sizes.size() - 1));
+            report.put("noExpireKeys", noExpire);
+            Map<String, Long> ttlDistribution = new LinkedHashMap<>();
+            for (int i = 0; i < TTL_BUCKETS.length; i++) {
+                ttlDistribution.put(TTL_BUCKETS[i], ttlBuckets[i]);
+            }
+            ttlDistribution.put("never", noExpire);
+            report.put("ttlDistribution", ttlDistribution);
+            report.put(lfu ? "avgFreq" : "avgIdleSeconds", accessCount > 0 ? accessSum / accessCount : null);
+            return report;
+        }
+
+        private long percentile(double p) {
+            int index = (int) Math.ceil(p * sizes.size()) - 1;
+            return sizes.get(Math.max(index, 0));
+        }
+    }
+}
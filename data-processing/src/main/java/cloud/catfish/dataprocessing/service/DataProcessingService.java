@@ -15,6 +15,10 @@ public interface DataProcessingService {
 
     /**
      * 清理过期数据
+     * 按主键区间分批删除，每批单独提交并保存检查点，批次之间按配置休眠，从库延迟过大时暂停，
+     * 中断或失败后再次执行从检查点继续。
+     * 要求主键随created_time递增（自增主键的只追加表），从头开始删除，遇到没有过期数据的一批即停止，
+     * 不需要created_time上的索引；之后的批次中时间早于截止时间的少量乱序记录不会被删除
      * 
      * @param tableName 表名
      * @param retentionDays 保留天数
@@ -32,6 +36,51 @@ public interface DataProcessingService {
      */
     int syncData(String sourceTable, String targetTable, LocalDateTime lastSyncTime);
 
+    /**
+     * 按检查点增量同步数据
+     * 按(updated_time, id)顺序读取检查点之后、同步上界之前的记录，每批提交后保存检查点，
+     * 完成后检查点推进到同步上界，中断后再次执行从检查点继续，不会遗漏记录
+     * 
+     * @param sourceTable 源表
+     * @param targetTable 目标表
+     * @param since 没有检查点时的起始时间
+     * @return 同步的记录数
+     */
+    int syncIncremental(String sourceTable, String targetTable, LocalDateTime since);
+
+    /**
+     * 按时间和主键范围同步数据，只同步updated_time在[fromTime, toTime]内且id在[fromId, toId]内的记录，可以并行执行和重试
+     * 
+     * @param sourceTable 源表
+     * @param targetTable 目标表
+     * @param fromTime 起始更新时间（包含）
+     * @param toTime 结束更新时间（包含）
+     * @param fromId 起始主键（包含）
+     * @param toId 结束主键（包含）
+     * @return 同步的记录数
+     */
+    int syncDataRange(String sourceTable, String targetTable, LocalDateTime fromTime, LocalDateTime toTime, long fromId, long toId);
+
+    /**
+     * 获取从fromId开始、包含rangeSize条需要同步的记录的主键范围的结束主键
+     * 边界取自实际变更的记录，旧记录被更新时不会切出大量空范围
+     * 
+     * @param sourceTable 源表
+     * @param fromTime 起始更新时间（包含）
+     * @param toTime 结束更新时间（包含）
+     * @param fromId 范围的起始主键（包含）
+     * @param rangeSize 范围内需要同步的记录数，不足时到最后一条需要同步的记录为止
+     * @return 结束主键（包含），fromId之后没有需要同步的记录时返回null
+     */
+    Long getSyncRangeEnd(String sourceTable, LocalDateTime fromTime, LocalDateTime toTime, long fromId, long rangeSize);
+
+    /**
+     * 本次同步的上界，比当前时间早checkpointLagSeconds，之后更新的记录可能属于尚未提交的事务，留到下次同步
+     * 
+     * @return 同步上界
+     */
+    LocalDateTime getSyncUpperBound();
+
     /**
      * 生成统计数据
      * 
@@ -44,6 +93,7 @@ public interface DataProcessingService {
 
     /**
      * 批量处理数据
+     * 按id分块处理，不保存检查点，失败后重新执行时从头开始
      * 
      * @param tableName 表名
      * @param processor 处理器
@@ -52,6 +102,20 @@ public interface DataProcessingService {
      */
     int batchProcess(String tableName, DataProcessor processor, int batchSize);
 
+    /**
+     * 按主键分块批量处理数据
+     * 每块按主键范围读取，处理器在单独的事务中执行，提交后保存检查点；
+     * 处理器返回false或抛出异常时回滚当前块并停止，再次执行时从检查点继续，全部处理完成后删除检查点
+     * 
+     * @param tableName 表名
+     * @param keyColumn 主键列，需要唯一且有索引
+     * @param processor 处理器
+     * @param batchSize 批次大小
+     * @param checkpointName 检查点名称，为null时不保存检查点
+     * @return 本次处理的记录数
+     */
+    int batchProcess(String tableName, String keyColumn, DataProcessor processor, int batchSize, String checkpointName);
+
     /**
      * 获取表的记录总数
      * 
@@ -0,0 +1,210 @@
+package cloud.catfish.dataprocessing.service;
+
+import cloud.catfish.dataprocessing.config.DataProcessingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 分区表数据保留
+ * 适用于按时间RANGE COLUMNS分区的只追加表，过期数据通过DROP PARTITION删除，耗时与数据量无关。
+ * 每次清理时先在MAXVALUE分区之前预建之后的分区，再删除上界不晚于保留期起点的分区。
+ * 分区以下界命名，按天为pyyyyMMdd，按月为pyyyyMM。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class PartitionRetentionService {
+
+    private static final DateTimeFormatter DAY_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataProcessingProperties properties;
+
+    /**
+     * 获取登记为分区表的配置
+     *
+     * @param tableName 表名
+     * @return 分区配置，未登记时返回null
+     */
+    public DataProcessingProperties.PartitionedTable getPartitionedTable(String tableName) {
+        return properties.getDataClean().getPartitionedTables().stream()
+                .filter(table -> table.getTableName().equalsIgnoreCase(tableName))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 判断表是否已转换为分区表
+     *
+     * @param tableName 表名
+     * @return information_schema中存在分区时返回true
+     */
+    public boolean isPartitioned(String tableName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                Integer.class, tableName);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 预建分区并删除过期分区
+     *
+     * @param table 分区配置
+     * @param retentionDays 保留天数
+     * @return 清理结果
+     */
+    public PurgeResult purge(DataProcessingProperties.PartitionedTable table, int retentionDays) {
+        String tableName = table.getTableName();
+        List<Partition> partitions = getPartitions(tableName);
+        if (partitions.isEmpty()) {
+            throw new IllegalStateException("表" + tableName + "未分区，请先参照sql/partition_retention.sql转换为分区表");
+        }
+        int createdCount = createFuturePartitions(table, partitions);
+
+        // 分区内的记录都早于其上界，上界不晚于保留期起点的分区整体过期
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        List<Partition> expired = partitions.stream()
+                .filter(partition -> partition.upperBound != null && !partition.upperBound.isAfter(cutoff))
+                .toList();
+        long estimatedRows = expired.stream().mapToLong(partition -> partition.tableRows).sum();
+        if (!expired.isEmpty()) {
+            String names = expired.stream().map(partition -> partition.name).collect(Collectors.joining(", "));
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DROP PARTITION %s", tableName, names));
+            log.info("删除过期分区: 表={}, 分区={}, 约{}行", tableName, names, estimatedRows);
+        }
+        return new PurgeResult(createdCount, expired.size(), estimatedRows);
+    }
+
+    /**
+     * 预建到当前周期之后futurePartitions个周期，存在MAXVALUE分区时从中拆分，否则直接添加
+     */
+    private int createFuturePartitions(DataProcessingProperties.PartitionedTable table, List<Partition> partitions) {
+        DataProcessingProperties.PartitionedTable.Granularity granularity = table.getGranularity();
+        Partition maxPartition = partitions.get(partitions.size() - 1).upperBound == null ? partitions.get(partitions.size() - 1) : null;
+        LocalDate lower = partitions.stream()
+                .filter(partition -> partition.upperBound != null)
+                .map(partition -> partition.upperBound)
+                .reduce((first, second) -> second)
+                .orElse(periodStart(LocalDate.now(), granularity));
+        LocalDate target = nextPeriod(periodStart(LocalDate.now(), granularity), granularity, table.getFuturePartitions() + 1);
+
+        List<String> definitions = new ArrayList<>();
+        while (lower.isBefore(target)) {
+            LocalDate upper = nextPeriod(periodStart(lower, granularity), granularity, 1);
+            String name = lower.format(granularity == DataProcessingProperties.PartitionedTable.Granularity.DAY ? DAY_NAME : MONTH_NAME);
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN ('%s')", name, upper));
+            lower = upper;
+        }
+        if (definitions.isEmpty()) {
+            return 0;
+        }
+
+        String sql;
+        if (maxPartition != null) {
+            // 分区已预建到未来，pmax通常为空，拆分只需修改元数据；pmax中有数据时会在ALTER中复制这些数据
+            if (maxPartition.tableRows > 0) {
+                log.warn("MAXVALUE分区中约有{}行，拆分时会复制这些数据: 表={}", maxPartition.tableRows, table.getTableName());
+            }
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN (MAXVALUE)", maxPartition.name));
+            sql = String.format("ALTER TABLE %s REORGANIZE PARTITION %s INTO (%s)",
+                    table.getTableName(), maxPartition.name, String.join(", ", definitions));
+        } else {
+            sql = String.format("ALTER TABLE %s ADD PARTITION (%s)", table.getTableName(), String.join(", ", definitions));
+        }
+        jdbcTemplate.execute(sql);
+        int createdCount = maxPartition != null ? definitions.size() - 1 : definitions.size();
+        log.info("预建分区: 表={}, 新建分区数={}", table.getTableName(), createdCount);
+        return createdCount;
+    }
+
+    private List<Partition> getPartitions(String tableName) {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), parseBound(tableName, rs.getString(2)), rs.getLong(3)),
+                tableName);
+    }
+
+    /**
+     * 解析RANGE COLUMNS分区的上界，如 '2026-11-01 00:00:00'，MAXVALUE返回null
+     */
+    private static LocalDate parseBound(String tableName, String description) {
+        if ("MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        String bound = description.replace("'", "").trim();
+        if (bound.length() < 10) {
+            throw new IllegalStateException("表" + tableName + "不是按日期RANGE COLUMNS分区: " + description);
+        }
+        return LocalDate.parse(bound.substring(0, 10));
+    }
+
+    private static LocalDate periodStart(LocalDate date, DataProcessingProperties.PartitionedTable.Granularity granularity) {
+        return granularity == DataProcessingProperties.PartitionedTable.Granularity.DAY ? date : date.withDayOfMonth(1);
+    }
+
+    private static LocalDate nextPeriod(LocalDate date, DataProcessingProperties.PartitionedTable.Granularity granularity, int periods) {
+        return granularity == DataProcessingProperties.PartitionedTable.Granularity.DAY ? date.plusDays(periods) : date.plusMonths(periods);
+    }
+
+    /**
+     * 分区信息
+     */
+    private static class Partition {
+        private final String name;
+        private final LocalDate upperBound;
+        private final long tableRows;
+
+        Partition(String name, LocalDate upperBound, long tableRows) {
+            this.name = name;
+            this.upperBound = upperBound;
+            this.tableRows = tableRows;
+        }
+    }
+
+    /**
+     * 分区清理结果
+     */
+    public static class PurgeResult {
+        private final int createdPartitions;
+        private final int droppedPartitions;
+        private final long estimatedRows;
+
+        public PurgeResult(int createdPartitions, int droppedPartitions, long estimatedRows) {
+            this.createdPartitions = createdPartitions;
+            this.droppedPartitions = droppedPartitions;
+            this.estimatedRows = estimatedRows;
+        }
+
+        public int getCreatedPartitions() {
+            return createdPartitions;
+        }
+
+        public int getDroppedPartitions() {
+            return droppedPartitions;
+        }
+
+        /**
+         * 删除的记录数，来自information_schema的估算值
+         */
+        public long getEstimatedRows() {
+            return estimatedRows;
+        }
+    }
+}
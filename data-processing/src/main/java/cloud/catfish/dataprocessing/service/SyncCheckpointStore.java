@@ -0,0 +1,128 @@
+package cloud.catfish.dataprocessing.service;
+
+import cloud.catfish.common.util.RedisScanUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 增量同步检查点存储
+ * 检查点是已提交的最大(updated_time, id)，每批提交后保存，不设置过期时间。
+ * 没有检查点时兼容读取旧的同步时间key。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SyncCheckpointStore {
+
+    private static final String CHECKPOINT_KEY_PREFIX = "data_sync:checkpoint:";
+    private static final String LEGACY_TIME_KEY_PREFIX = "data_sync:last_time:";
+    private static final DateTimeFormatter LEGACY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String SEPARATOR = "|";
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 获取检查点
+     *
+     * @param sourceTable 源表
+     * @param targetTable 目标表
+     * @return 检查点，从未同步过时返回null
+     */
+    public Checkpoint get(String sourceTable, String targetTable) {
+        String pair = sourceTable + ":" + targetTable;
+        String value = redisTemplate.opsForValue().get(CHECKPOINT_KEY_PREFIX + pair);
+        if (StringUtils.hasText(value)) {
+            return Checkpoint.parse(value);
+        }
+        String legacyTime = redisTemplate.opsForValue().get(LEGACY_TIME_KEY_PREFIX + pair);
+        if (StringUtils.hasText(legacyTime)) {
+            try {
+                // 旧的同步时间是同步结束时的时间，不能保证之前的记录都已同步，这里只作为起点
+                return new Checkpoint(LocalDateTime.parse(legacyTime, LEGACY_FORMATTER), 0);
+            } catch (Exception e) {
+                log.warn("解析旧的同步时间失败: {}", legacyTime);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 保存检查点
+     *
+     * @param sourceTable 源表
+     * @param targetTable 目标表
+     * @param checkpoint 检查点
+     */
+    public void save(String sourceTable, String targetTable, Checkpoint checkpoint) {
+        redisTemplate.opsForValue().set(CHECKPOINT_KEY_PREFIX + sourceTable + ":" + targetTable, checkpoint.format());
+    }
+
+    /**
+     * 获取所有检查点
+     *
+     * @param maxKeys 最多读取的检查点数
+     * @return 源表:目标表 与检查点
+     */
+    public Map<String, Checkpoint> getAll(int maxKeys) {
+        Map<String, Checkpoint> checkpoints = new LinkedHashMap<>();
+        List<String> keys = RedisScanUtil.scanKeys(redisTemplate, CHECKPOINT_KEY_PREFIX + "*", maxKeys);
+        if (keys.isEmpty()) {
+            return checkpoints;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            if (StringUtils.hasText(value)) {
+                checkpoints.put(keys.get(i).substring(CHECKPOINT_KEY_PREFIX.length()), Checkpoint.parse(value));
+            }
+        }
+        return checkpoints;
+    }
+
+    /**
+     * 同步检查点，(updatedTime, id)之前的记录都已同步
+     */
+    public static class Checkpoint {
+        private final LocalDateTime updatedTime;
+        private final long id;
+
+        public Checkpoint(LocalDateTime updatedTime, long id) {
+            this.updatedTime = updatedTime;
+            this.id = id;
+        }
+
+        public LocalDateTime getUpdatedTime() {
+            return updatedTime;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        private String format() {
+            return updatedTime + SEPARATOR + id;
+        }
+
+        private static Checkpoint parse(String value) {
+            int index = value.lastIndexOf(SEPARATOR);
+            return new Checkpoint(LocalDateTime.parse(value.substring(0, index)), Long.parseLong(value.substring(index + 1)));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + updatedTime + ", " + id + ")";
+        }
+    }
+}
@@ -1,17 +1,40 @@
 package cloud.catfish.dataprocessing.service.impl;
 
+import cloud.catfish.common.datasource.ReplicaLagMonitor;
+import cloud.catfish.dataprocessing.config.DataProcessingProperties;
 import cloud.catfish.dataprocessing.service.DataProcessingService;
+import cloud.catfish.dataprocessing.service.SyncCheckpointStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * 数据处理服务实现类
@@ -26,64 +49,214 @@ public class DataProcessingServiceImpl implements DataProcessingService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    private DataProcessingProperties properties;
+
+    @Autowired
+    private SyncCheckpointStore checkpointStore;
+
+    @Autowired
+    private ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    /**
+     * 同步语句缓存，key为 源表->目标表
+     */
+    private final Map<String, UpsertStatement> upsertStatements = new ConcurrentHashMap<>();
+
+    /**
+     * 清理检查点，保存最后一批已删除区间的结束主键
+     */
+    private static final String CLEAN_CHECKPOINT_KEY_PREFIX = "data_clean:checkpoint:";
+
+    /**
+     * 批量处理检查点，保存最后一个已提交块的主键
+     */
+    private static final String CHECKPOINT_KEY_PREFIX = "batch_process:checkpoint:";
+
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
-    @Transactional
     public int cleanExpiredData(String tableName, int retentionDays) {
+        DataProcessingProperties.DataClean config = properties.getDataClean();
+        String cutoff = LocalDateTime.now().minusDays(retentionDays).format(FORMATTER);
+        String checkpointKey = CLEAN_CHECKPOINT_KEY_PREFIX + tableName;
+        String checkpoint = redisTemplate.opsForValue().get(checkpointKey);
+        int deletedCount = 0;
+        int chunkCount = 0;
+        long lastId = checkpoint != null ? Long.parseLong(checkpoint) : Long.MIN_VALUE;
         try {
-            String sql = String.format(
-                "DELETE FROM %s WHERE created_time < DATE_SUB(NOW(), INTERVAL %d DAY)",
-                tableName, retentionDays
-            );
+            if (checkpoint != null) {
+                log.info("从检查点继续清理: 表={}, id > {}", tableName, checkpoint);
+            }
             
-            int deletedCount = jdbcTemplate.update(sql);
-            log.info("清理过期数据完成: 表={}, 保留天数={}, 删除记录数={}", tableName, retentionDays, deletedCount);
+            // 每批按主键区间删除，区间内最多batchSize行，每条DELETE单独提交，锁和undo都只涉及一批。
+            // 区间边界和MAX(id)都只读主键索引，不按created_time扫描全表
+            String boundarySql = String.format("SELECT id FROM %s WHERE id > ? ORDER BY id LIMIT 1 OFFSET ?", tableName);
+            String maxIdSql = String.format("SELECT MAX(id) FROM %s", tableName);
+            String deleteSql = String.format("DELETE FROM %s WHERE id > ? AND id <= ? AND created_time < ?", tableName);
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("清理任务被中断");
+                }
+                waitForReplica(config);
+                
+                List<Long> boundary = jdbcTemplate.queryForList(boundarySql, Long.class, lastId, config.getBatchSize() - 1);
+                Long endId = boundary.isEmpty() ? jdbcTemplate.queryForObject(maxIdSql, Long.class) : boundary.get(0);
+                if (endId == null || endId <= lastId) {
+                    break;
+                }
+                int deleted = jdbcTemplate.update(deleteSql, lastId, endId, cutoff);
+                chunkCount++;
+                // 主键随写入时间递增，一批中没有过期数据时之后的数据也都未过期
+                if (deleted == 0) {
+                    break;
+                }
+                deletedCount += deleted;
+                lastId = endId;
+                redisTemplate.opsForValue().set(checkpointKey, String.valueOf(lastId));
+                if (boundary.isEmpty()) {
+                    break;
+                }
+                
+                if (config.getSleepMillis() > 0) {
+                    Thread.sleep(config.getSleepMillis());
+                }
+            }
             
+            redisTemplate.delete(checkpointKey);
+            log.info("清理过期数据完成: 表={}, 保留天数={}, 批次数={}, 删除记录数={}", tableName, retentionDays, chunkCount, deletedCount);
             return deletedCount;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("清理过期数据被中断: 表={}, 已删除记录数={}, 检查点={}", tableName, deletedCount, lastId);
+            throw new RuntimeException("清理过期数据被中断", e);
         } catch (Exception e) {
-            log.error("清理过期数据失败: 表={}, 保留天数={}", tableName, retentionDays, e);
+            log.error("清理过期数据失败: 表={}, 保留天数={}, 已删除记录数={}, 检查点={}", tableName, retentionDays, deletedCount, lastId, e);
             throw new RuntimeException("清理过期数据失败", e);
         }
     }
 
+    /**
+     * 从库延迟超过阈值时暂停，等待从库追上，未开启读写分离或无法获取延迟时不等待
+     */
+    private void waitForReplica(DataProcessingProperties.DataClean config) throws InterruptedException {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor == null || config.getMaxReplicaLagSeconds() <= 0) {
+            return;
+        }
+        Long lagSeconds;
+        while ((lagSeconds = monitor.getLastLagSeconds()) != null && lagSeconds > config.getMaxReplicaLagSeconds()) {
+            log.info("从库延迟{}秒，暂停清理", lagSeconds);
+            Thread.sleep(config.getLagBackoffMillis());
+        }
+    }
+
     @Override
-    @Transactional
     public int syncData(String sourceTable, String targetTable, LocalDateTime lastSyncTime) {
+        return doSyncData(sourceTable, targetTable, "updated_time > ?", false, lastSyncTime.format(FORMATTER));
+    }
+
+    @Override
+    public int syncIncremental(String sourceTable, String targetTable, LocalDateTime since) {
+        SyncCheckpointStore.Checkpoint checkpoint = checkpointStore.get(sourceTable, targetTable);
+        if (checkpoint == null) {
+            checkpoint = new SyncCheckpointStore.Checkpoint(since, 0);
+        }
+        LocalDateTime upperBound = getSyncUpperBound();
+        // 按(updated_time, id)排序，相同时间的记录按id继续，每批提交后保存最后一条记录的位置
+        int syncedCount = doSyncData(sourceTable, targetTable,
+            "(updated_time > ? OR (updated_time = ? AND id > ?)) AND updated_time <= ?", true,
+            checkpoint.getUpdatedTime(), checkpoint.getUpdatedTime(), checkpoint.getId(), upperBound);
+        // 上界之前的记录已全部同步，检查点直接推进到上界，下次不再扫描这段时间
+        if (upperBound.isAfter(checkpoint.getUpdatedTime())) {
+            checkpointStore.save(sourceTable, targetTable, new SyncCheckpointStore.Checkpoint(upperBound, Long.MAX_VALUE));
+        }
+        return syncedCount;
+    }
+
+    @Override
+    public int syncDataRange(String sourceTable, String targetTable, LocalDateTime fromTime, LocalDateTime toTime, long fromId, long toId) {
+        return doSyncData(sourceTable, targetTable, "updated_time >= ? AND updated_time <= ? AND id BETWEEN ? AND ?", false,
+            fromTime, toTime, fromId, toId);
+    }
+
+    @Override
+    public Long getSyncRangeEnd(String sourceTable, LocalDateTime fromTime, LocalDateTime toTime, long fromId, long rangeSize) {
+        // 跳过rangeSize-1条需要同步的记录，取到的主键就是范围的结束边界
+        String boundarySql = String.format(
+            "SELECT id FROM %s WHERE updated_time >= ? AND updated_time <= ? AND id >= ? ORDER BY id LIMIT 1 OFFSET ?",
+            sourceTable
+        );
+        List<Long> boundary = jdbcTemplate.queryForList(boundarySql, Long.class, fromTime, toTime, fromId, rangeSize - 1);
+        if (!boundary.isEmpty()) {
+            return boundary.get(0);
+        }
+        // 剩余不足rangeSize条，最后一个范围到最大的主键为止
+        String lastSql = String.format(
+            "SELECT MAX(id) FROM %s WHERE updated_time >= ? AND updated_time <= ? AND id >= ?",
+            sourceTable
+        );
+        return jdbcTemplate.queryForObject(lastSql, Long.class, fromTime, toTime, fromId);
+    }
+
+    @Override
+    public LocalDateTime getSyncUpperBound() {
+        return LocalDateTime.now().minusSeconds(properties.getDataSync().getCheckpointLagSeconds());
+    }
+
+    /**
+     * 同步源表中满足条件的记录
+     * 
+     * @param saveCheckpoint 为true时按(updated_time, id)排序，每批提交后保存检查点
+     */
+    private int doSyncData(String sourceTable, String targetTable, String condition, boolean saveCheckpoint, Object... args) {
+        DataProcessingProperties.DataSync config = properties.getDataSync();
+        String statementKey = sourceTable + "->" + targetTable;
+        long cacheMillis = config.getStatementCacheSeconds() * 1000L;
+        UpsertStatement upsert = upsertStatements.compute(statementKey, (key, cached) ->
+            cached != null && System.currentTimeMillis() - cached.builtAt < cacheMillis ? cached : buildUpsertStatement(sourceTable, targetTable));
+        String selectSql = saveCheckpoint
+            ? String.format("SELECT %s, updated_time, id FROM %s WHERE %s ORDER BY updated_time, id", upsert.columnList, sourceTable, condition)
+            : String.format("SELECT %s FROM %s WHERE %s", upsert.columnList, sourceTable, condition);
+        SyncWriter writer = new SyncWriter(upsert, config.getBatchSize(), sourceTable, targetTable, saveCheckpoint);
         try {
-            // 查询需要同步的数据
-            String selectSql = String.format(
-                "SELECT * FROM %s WHERE updated_time > ?",
-                sourceTable
-            );
-            
-            List<Map<String, Object>> dataToSync = jdbcTemplate.queryForList(
-                selectSql, lastSyncTime.format(FORMATTER)
-            );
+            // 流式读取源表，每满一批写入并提交，内存中最多只有一批数据
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(streamingFetchSize(connection, config.getFetchSize()));
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                return statement;
+            }, writer);
+            writer.flush();
             
-            if (dataToSync.isEmpty()) {
+            if (writer.syncedCount == 0) {
                 log.info("没有需要同步的数据: 源表={}, 目标表={}", sourceTable, targetTable);
-                return 0;
-            }
-            
-            // 构建插入或更新SQL
-            int syncedCount = 0;
-            for (Map<String, Object> row : dataToSync) {
-                String insertSql = buildInsertOrUpdateSql(targetTable, row);
-                jdbcTemplate.update(insertSql, row.values().toArray());
-                syncedCount++;
+            } else {
+                log.info("数据同步完成: 源表={}, 目标表={}, 同步记录数={}", sourceTable, targetTable, writer.syncedCount);
             }
+            return writer.syncedCount;
             
-            log.info("数据同步完成: 源表={}, 目标表={}, 同步记录数={}", sourceTable, targetTable, syncedCount);
-            return syncedCount;
-            
+        } catch (BadSqlGrammarException e) {
+            // 表结构可能已变更（如删除了字段），下次同步重新读取字段；新增的字段在缓存过期后同步
+            upsertStatements.remove(statementKey);
+            log.error("数据同步失败: 源表={}, 目标表={}, 已提交记录数={}", sourceTable, targetTable, writer.syncedCount, e);
+            throw new RuntimeException("数据同步失败", e);
         } catch (Exception e) {
-            log.error("数据同步失败: 源表={}, 目标表={}", sourceTable, targetTable, e);
+            log.error("数据同步失败: 源表={}, 目标表={}, 已提交记录数={}", sourceTable, targetTable, writer.syncedCount, e);
             throw new RuntimeException("数据同步失败", e);
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> generateStats(String tableName, LocalDateTime startTime, LocalDateTime endTime) {
         try {
             Map<String, Object> stats = new HashMap<>();
@@ -139,43 +312,87 @@ public class DataProcessingServiceImpl implements DataProcessingService {
     }
 
     @Override
-    @Transactional
     public int batchProcess(String tableName, DataProcessor processor, int batchSize) {
+        // 不同的处理器可能处理同一张表，表名不能作为检查点名称
+        return batchProcess(tableName, "id", processor, batchSize, null);
+    }
+
+    @Override
+    public int batchProcess(String tableName, String keyColumn, DataProcessor processor, int batchSize, String checkpointName) {
+        String checkpointKey = checkpointName != null ? CHECKPOINT_KEY_PREFIX + checkpointName : null;
+        String checkpoint = checkpointKey != null ? redisTemplate.opsForValue().get(checkpointKey) : null;
+        Object lastKey = null;
+        if (checkpoint != null) {
+            lastKey = parseCheckpointKey(tableName, keyColumn, checkpoint);
+            log.info("从检查点继续批量处理: 表={}, {} > {}", tableName, keyColumn, lastKey);
+        }
+        
+        // 按主键范围读取，每块的耗时与已处理的行数无关
+        String firstSql = String.format("SELECT * FROM %s ORDER BY %s LIMIT ?", tableName, keyColumn);
+        String nextSql = String.format("SELECT * FROM %s WHERE %s > ? ORDER BY %s LIMIT ?", tableName, keyColumn, keyColumn);
+        int processedCount = 0;
         try {
-            long totalCount = getTableCount(tableName);
-            int processedCount = 0;
-            int offset = 0;
-            
-            while (offset < totalCount) {
-                String sql = String.format(
-                    "SELECT * FROM %s LIMIT %d OFFSET %d",
-                    tableName, batchSize, offset
-                );
-                
-                List<Map<String, Object>> batch = jdbcTemplate.queryForList(sql);
+            while (true) {
+                List<Map<String, Object>> batch = lastKey == null
+                    ? jdbcTemplate.queryForList(firstSql, batchSize)
+                    : jdbcTemplate.queryForList(nextSql, lastKey, batchSize);
                 if (batch.isEmpty()) {
                     break;
                 }
                 
-                boolean success = processor.process(batch);
-                if (success) {
-                    processedCount += batch.size();
-                } else {
-                    log.warn("批次处理失败: 表={}, offset={}, batchSize={}", tableName, offset, batchSize);
+                // 每块单独提交，处理失败只回滚当前块
+                Object batchStart = lastKey;
+                Boolean success = transactionTemplate.execute(status -> {
+                    if (processor.process(batch)) {
+                        return true;
+                    }
+                    status.setRollbackOnly();
+                    return false;
+                });
+                if (!Boolean.TRUE.equals(success)) {
+                    throw new IllegalStateException(String.format("批次处理失败: 表=%s, %s > %s", tableName, keyColumn, batchStart));
                 }
                 
-                offset += batchSize;
+                processedCount += batch.size();
+                // 保留驱动返回的类型，下一块按原类型绑定参数
+                lastKey = batch.get(batch.size() - 1).get(keyColumn);
+                // 提交后再保存检查点，两者之间中断时最后一块会被重复处理
+                if (checkpointKey != null) {
+                    redisTemplate.opsForValue().set(checkpointKey, String.valueOf(lastKey));
+                }
+                if (batch.size() < batchSize) {
+                    break;
+                }
             }
             
+            if (checkpointKey != null) {
+                redisTemplate.delete(checkpointKey);
+            }
             log.info("批量处理完成: 表={}, 处理记录数={}", tableName, processedCount);
             return processedCount;
             
         } catch (Exception e) {
-            log.error("批量处理失败: 表={}", tableName, e);
+            log.error("批量处理失败: 表={}, 本次处理记录数={}, 检查点={}", tableName, processedCount, lastKey, e);
             throw new RuntimeException("批量处理失败", e);
         }
     }
 
+    /**
+     * 按主键列的JDBC类型还原检查点中保存的字符串
+     */
+    private Object parseCheckpointKey(String tableName, String keyColumn, String checkpoint) {
+        Integer columnType = jdbcTemplate.query(String.format("SELECT %s FROM %s WHERE 1 = 0", keyColumn, tableName),
+            (ResultSetExtractor<Integer>) rs -> rs.getMetaData().getColumnType(1));
+        if (columnType == null) {
+            return checkpoint;
+        }
+        return switch (columnType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Long.valueOf(checkpoint);
+            case Types.DECIMAL, Types.NUMERIC -> new BigDecimal(checkpoint);
+            default -> checkpoint;
+        };
+    }
+
     @Override
     public long getTableCount(String tableName) {
         try {
@@ -199,31 +416,121 @@ public class DataProcessingServiceImpl implements DataProcessingService {
     }
 
     /**
-     * 构建插入或更新SQL
+     * MySQL默认一次读取全部结果。连接串开启useCursorFetch时按fetchSize分批读取，
+     * 否则使用Connector/J的Integer.MIN_VALUE逐行流式读取，只影响这一条查询
      */
-    private String buildInsertOrUpdateSql(String tableName, Map<String, Object> row) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("INSERT INTO ").append(tableName).append(" (");
-        
-        // 字段名
-        String columns = String.join(", ", row.keySet());
-        sql.append(columns).append(") VALUES (");
-        
-        // 占位符
-        String placeholders = row.keySet().stream()
-            .map(k -> "?")
-            .reduce((a, b) -> a + ", " + b)
-            .orElse("");
-        sql.append(placeholders).append(")");
-        
-        // ON DUPLICATE KEY UPDATE
-        sql.append(" ON DUPLICATE KEY UPDATE ");
-        String updates = row.keySet().stream()
-            .map(k -> k + " = VALUES(" + k + ")")
-            .reduce((a, b) -> a + ", " + b)
-            .orElse("");
-        sql.append(updates);
+    private static int streamingFetchSize(Connection connection, int fetchSize) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        if (!metaData.getDriverName().startsWith("MySQL") || metaData.getURL().contains("useCursorFetch=true")) {
+            return fetchSize;
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * 按源表和目标表共有的字段构建插入或更新SQL
+     */
+    private UpsertStatement buildUpsertStatement(String sourceTable, String targetTable) {
+        Set<String> sourceColumns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        sourceColumns.addAll(getColumns(sourceTable));
+        List<String> columns = getColumns(targetTable).stream()
+            .filter(sourceColumns::contains)
+            .toList();
+        if (columns.isEmpty()) {
+            throw new IllegalStateException(String.format("源表%s与目标表%s没有相同的字段", sourceTable, targetTable));
+        }
         
-        return sql.toString();
+        String columnList = columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+        String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+        String updates = columns.stream()
+            .map(column -> "`" + column + "` = VALUES(`" + column + "`)")
+            .collect(Collectors.joining(", "));
+        String sql = "INSERT INTO " + targetTable + " (" + columnList + ") VALUES (" + placeholders + ")"
+            + " ON DUPLICATE KEY UPDATE " + updates;
+        log.info("构建同步语句: {} -> {}, 字段数={}", sourceTable, targetTable, columns.size());
+        return new UpsertStatement(columnList, columns.size(), sql);
+    }
+
+    /**
+     * 读取表的字段名，不返回数据行
+     */
+    private List<String> getColumns(String tableName) {
+        return jdbcTemplate.query(String.format("SELECT * FROM %s WHERE 1 = 0", tableName), (ResultSetExtractor<List<String>>) rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<String> columns = new ArrayList<>(metaData.getColumnCount());
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnLabel(i));
+            }
+            return columns;
+        });
+    }
+
+    /**
+     * 缓存的同步语句，查询源表的字段顺序与插入的占位符顺序一致
+     */
+    private static class UpsertStatement {
+        private final String columnList;
+        private final int columnCount;
+        private final String sql;
+        private final long builtAt = System.currentTimeMillis();
+
+        UpsertStatement(String columnList, int columnCount, String sql) {
+            this.columnList = columnList;
+            this.columnCount = columnCount;
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * 逐行接收源表数据，每满一批通过batchUpdate写入目标表并单独提交，需要时在提交后保存检查点
+     */
+    private class SyncWriter implements RowCallbackHandler {
+        private final UpsertStatement upsert;
+        private final int batchSize;
+        private final String sourceTable;
+        private final String targetTable;
+        private final boolean saveCheckpoint;
+        private final List<Object[]> batch;
+        private LocalDateTime lastUpdatedTime;
+        private long lastId;
+        private int syncedCount;
+
+        SyncWriter(UpsertStatement upsert, int batchSize, String sourceTable, String targetTable, boolean saveCheckpoint) {
+            this.upsert = upsert;
+            this.batchSize = batchSize;
+            this.sourceTable = sourceTable;
+            this.targetTable = targetTable;
+            this.saveCheckpoint = saveCheckpoint;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Object[] args = new Object[upsert.columnCount];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = rs.getObject(i + 1);
+            }
+            batch.add(args);
+            if (saveCheckpoint) {
+                lastUpdatedTime = rs.getObject(upsert.columnCount + 1, LocalDateTime.class);
+                lastId = rs.getLong(upsert.columnCount + 2);
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(upsert.sql, batch));
+            syncedCount += batch.size();
+            batch.clear();
+            // 提交后再保存检查点，两者之间中断时最后一批会被重复同步，写入是幂等的
+            if (saveCheckpoint) {
+                checkpointStore.save(sourceTable, targetTable, new SyncCheckpointStore.Checkpoint(lastUpdatedTime, lastId));
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package cloud.catfish.dataprocessing.handler;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Redis内存分析的key分组和pipeline读取
+ * pipeline读取需要真实的Redis，地址通过-Dredis.host和-Dredis.port指定，连接不上时只跳过该测试
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+class RedisProfileJobHandlerTest {
+
+    private static final String KEY = "redis_profile:test:1001";
+    private static final String MISSING_KEY = "redis_profile:test:missing";
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static boolean redisAvailable;
+
+    @BeforeAll
+    static void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"), Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        try {
+            redisTemplate.opsForValue().set(KEY, "x".repeat(1024), Duration.ofMinutes(1));
+            redisTemplate.delete(MISSING_KEY);
+            redisAvailable = true;
+        } catch (Exception e) {
+            redisAvailable = false;
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        if (redisAvailable) {
+            try {
+                redisTemplate.delete(KEY);
+            } catch (Exception ignored) {
+                // 删除失败时等待1分钟后过期
+            }
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void readKeyStatsReturnsIntegerResults() {
+        assumeTrue(redisAvailable, "Redis不可用，跳过");
+        boolean lfu = RedisProfileJobHandler.isLfuPolicy(redisTemplate);
+
+        List<Object> results = RedisProfileJobHandler.readKeyStats(connectionFactory, List.of(KEY, MISSING_KEY), lfu);
+
+        assertEquals(6, results.size());
+        Long bytes = assertInstanceOf(Long.class, results.get(0));
+        assertTrue(bytes >= 1024, "MEMORY USAGE应包含value的大小: " + bytes);
+        Long pttl = assertInstanceOf(Long.class, results.get(1));
+        assertTrue(pttl > 0 && pttl <= 60_000, "PTTL: " + pttl);
+        Long access = assertInstanceOf(Long.class, results.get(2));
+        assertTrue(access >= 0, "OBJECT FREQ/IDLETIME: " + access);
+
+        assertNull(results.get(3));
+        assertEquals(-2L, results.get(4));
+        assertNull(results.get(5));
+    }
+
+    @Test
+    void familyStopsAtIdSegment() {
+        assertEquals("user:*", RedisProfileJobHandler.family("user:1001:profile", 3));
+        assertEquals("session:web:*", RedisProfileJobHandler.family("session:web:3f2b9c1d4e5f6a7b8c9d", 3));
+        assertEquals("config:site", RedisProfileJobHandler.family("config:site", 3));
+        assertEquals("a:b:c:*", RedisProfileJobHandler.family("a:b:c:d:e", 3));
+    }
+}
@@ -0,0 +1,215 @@
+package cloud.catfish.mbg.cache;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.Cache;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MyBatis二级缓存，本地LRU + Redis两级存储
+ * 每个namespace在Redis中对应一个Hash，namespace下有写操作时整个Hash被删除，
+ * 并通过{@link #INVALIDATE_CHANNEL}通知其他节点清空本地缓存。
+ * 两级缓存中保存的都是序列化后的字节，每次命中都会反序列化出新对象，调用方修改结果不会污染缓存。
+ * 查询结果使用JDK序列化，保留Long等类型，不能使用RedisTemplate上带默认类型的JSON序列化器。
+ * 本地缓存条目有过期时间，丢失失效通知时最多在{@link #setLocalExpire(long)}秒后读到新数据。
+ * 在mapper.xml中通过 &lt;cache type="cloud.catfish.mbg.cache.RedisMybatisCache"/&gt; 开启，
+ * 使用前需要调用{@link #setRedisTemplate(RedisTemplate)}，未设置时缓存不生效。
+ * Created by catfish on 2026/10/19.
+ */
+@Slf4j
+public class RedisMybatisCache implements Cache {
+    /**
+     * 跨节点失效通知频道，消息格式为 nodeId:namespace
+     */
+    public static final String INVALIDATE_CHANNEL = "mybatis:cache:invalidate";
+    private static final String KEY_PREFIX = "mybatis:cache:";
+    private static final String NODE_ID = IdUtil.fastSimpleUUID();
+    private static final Map<String, RedisMybatisCache> CACHES = new ConcurrentHashMap<>();
+    private static final RedisSerializer<Object> SERIALIZER = new JdkSerializationRedisSerializer(RedisMybatisCache.class.getClassLoader());
+    private static volatile RedisTemplate<String, Object> redisTemplate;
+
+    private final String id;
+    private final byte[] rawKey;
+    private final Map<String, LocalEntry> localCache;
+    /**
+     * 本地缓存最大条目数
+     */
+    private int localSize = 256;
+    /**
+     * 本地缓存过期时间（秒）
+     */
+    private long localExpire = 60;
+    /**
+     * Redis缓存过期时间（秒）
+     */
+    private long expire = 3600;
+
+    public RedisMybatisCache(String id) {
+        this.id = id;
+        this.rawKey = (KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        this.localCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > localSize;
+            }
+        });
+        CACHES.put(id, this);
+    }
+
+    public static void setRedisTemplate(RedisTemplate<String, Object> redisTemplate) {
+        RedisMybatisCache.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 处理其他节点发出的失效通知，只清空本地缓存
+     */
+    public static void onInvalidate(String message) {
+        int index = message.indexOf(':');
+        if (index < 0 || NODE_ID.equals(message.substring(0, index))) {
+            return;
+        }
+        RedisMybatisCache cache = CACHES.get(message.substring(index + 1));
+        if (cache != null) {
+            cache.localCache.clear();
+            log.debug("mybatis cache invalidated by remote node: {}", cache.id);
+        }
+    }
+
+    public void setLocalSize(int localSize) {
+        this.localSize = localSize;
+    }
+
+    public void setLocalExpire(long localExpire) {
+        this.localExpire = localExpire;
+    }
+
+    public void setExpire(long expire) {
+        this.expire = expire;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        RedisTemplate<String, Object> template = redisTemplate;
+        if (template == null || value == null) {
+            return;
+        }
+        try {
+            String field = toField(key);
+            byte[] bytes = SERIALIZER.serialize(value);
+            if (bytes == null) {
+                return;
+            }
+            putLocal(field, bytes);
+            byte[] rawField = field.getBytes(StandardCharsets.UTF_8);
+            template.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hSet(rawKey, rawField, bytes);
+                connection.keyCommands().expire(rawKey, expire);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("mybatis cache put failed: {}", id, e);
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        RedisTemplate<String, Object> template = redisTemplate;
+        if (template == null) {
+            return null;
+        }
+        try {
+            String field = toField(key);
+            LocalEntry entry = localCache.get(field);
+            byte[] bytes = entry != null && entry.expireAt > System.currentTimeMillis() ? entry.bytes : null;
+            if (bytes == null) {
+                byte[] rawField = field.getBytes(StandardCharsets.UTF_8);
+                bytes = template.execute((RedisCallback<byte[]>) connection -> connection.hashCommands().hGet(rawKey, rawField));
+                if (bytes == null) {
+                    return null;
+                }
+                putLocal(field, bytes);
+            }
+            return SERIALIZER.deserialize(bytes);
+        } catch (Exception e) {
+            log.warn("mybatis cache get failed: {}", id, e);
+            return null;
+        }
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        RedisTemplate<String, Object> template = redisTemplate;
+        String field = toField(key);
+        localCache.remove(field);
+        if (template != null) {
+            try {
+                byte[] rawField = field.getBytes(StandardCharsets.UTF_8);
+                template.execute((RedisCallback<Long>) connection -> connection.hashCommands().hDel(rawKey, rawField));
+            } catch (Exception e) {
+                log.warn("mybatis cache remove failed: {}", id, e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        localCache.clear();
+        RedisTemplate<String, Object> template = redisTemplate;
+        if (template == null) {
+            return;
+        }
+        try {
+            byte[] channel = INVALIDATE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] message = (NODE_ID + ":" + id).getBytes(StandardCharsets.UTF_8);
+            template.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().del(rawKey);
+                connection.publish(channel, message);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("mybatis cache clear failed: {}", id, e);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return localCache.size();
+    }
+
+    /**
+     * CacheKey的字符串中包含完整SQL和参数，取摘要作为Hash的field
+     */
+    private String toField(Object key) {
+        return DigestUtil.sha1Hex(key.toString());
+    }
+
+    private void putLocal(String field, byte[] bytes) {
+        localCache.put(field, new LocalEntry(bytes, System.currentTimeMillis() + localExpire * 1000));
+    }
+
+    private static class LocalEntry {
+        private final byte[] bytes;
+        private final long expireAt;
+
+        LocalEntry(byte[] bytes, long expireAt) {
+            this.bytes = bytes;
+            this.expireAt = expireAt;
+        }
+    }
+}
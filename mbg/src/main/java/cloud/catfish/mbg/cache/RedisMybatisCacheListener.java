@@ -0,0 +1,18 @@
+package cloud.catfish.mbg.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 订阅MyBatis二级缓存失效通知，转发给{@link RedisMybatisCache}
+ * Created by catfish on 2026/10/19.
+ */
+public class RedisMybatisCacheListener implements MessageListener {
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        RedisMybatisCache.onInvalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
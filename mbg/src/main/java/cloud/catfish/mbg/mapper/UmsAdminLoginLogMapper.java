@@ -4,6 +4,7 @@ import cloud.catfish.mbg.model.UmsAdminLoginLog;
 import cloud.catfish.mbg.model.UmsAdminLoginLogExample;
 import java.util.List;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 public interface UmsAdminLoginLogMapper {
     long countByExample(UmsAdminLoginLogExample example);
@@ -27,4 +28,10 @@ public interface UmsAdminLoginLogMapper {
     int updateByPrimaryKeySelective(UmsAdminLoginLog row);
 
     int updateByPrimaryKey(UmsAdminLoginLog row);
+
+    List<UmsAdminLoginLog> selectByExampleWithColumns(@Param("example") UmsAdminLoginLogExample example, @Param("columns") List<String> columns);
+
+    List<UmsAdminLoginLog> selectByExampleAfterKey(@Param("example") UmsAdminLoginLogExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
+
+    Cursor<UmsAdminLoginLog> streamByExample(UmsAdminLoginLogExample example);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsAdminMapper {
     int updateByPrimaryKeySelective(UmsAdmin row);
 
     int updateByPrimaryKey(UmsAdmin row);
+
+    List<UmsAdmin> selectByExampleWithColumns(@Param("example") UmsAdminExample example, @Param("columns") List<String> columns);
+
+    List<UmsAdmin> selectByExampleAfterKey(@Param("example") UmsAdminExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
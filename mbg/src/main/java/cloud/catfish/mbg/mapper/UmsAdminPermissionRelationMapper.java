@@ -27,4 +27,8 @@ public interface UmsAdminPermissionRelationMapper {
     int updateByPrimaryKeySelective(UmsAdminPermissionRelation row);
 
     int updateByPrimaryKey(UmsAdminPermissionRelation row);
+
+    List<UmsAdminPermissionRelation> selectByExampleWithColumns(@Param("example") UmsAdminPermissionRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsAdminPermissionRelation> selectByExampleAfterKey(@Param("example") UmsAdminPermissionRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsAdminRoleRelationMapper {
     int updateByPrimaryKeySelective(UmsAdminRoleRelation row);
 
     int updateByPrimaryKey(UmsAdminRoleRelation row);
+
+    List<UmsAdminRoleRelation> selectByExampleWithColumns(@Param("example") UmsAdminRoleRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsAdminRoleRelation> selectByExampleAfterKey(@Param("example") UmsAdminRoleRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
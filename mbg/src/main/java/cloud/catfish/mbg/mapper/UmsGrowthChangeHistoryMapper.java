@@ -4,6 +4,7 @@ import cloud.catfish.mbg.model.UmsGrowthChangeHistory;
 import cloud.catfish.mbg.model.UmsGrowthChangeHistoryExample;
 import java.util.List;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 public interface UmsGrowthChangeHistoryMapper {
     long countByExample(UmsGrowthChangeHistoryExample example);
@@ -27,4 +28,10 @@ public interface UmsGrowthChangeHistoryMapper {
     int updateByPrimaryKeySelective(UmsGrowthChangeHistory row);
 
     int updateByPrimaryKey(UmsGrowthChangeHistory row);
+
+    List<UmsGrowthChangeHistory> selectByExampleWithColumns(@Param("example") UmsGrowthChangeHistoryExample example, @Param("columns") List<String> columns);
+
+    List<UmsGrowthChangeHistory> selectByExampleAfterKey(@Param("example") UmsGrowthChangeHistoryExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
+
+    Cursor<UmsGrowthChangeHistory> streamByExample(UmsGrowthChangeHistoryExample example);
 }
\ No newline at end of file
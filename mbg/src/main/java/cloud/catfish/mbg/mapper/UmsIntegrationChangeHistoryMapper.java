@@ -4,6 +4,7 @@ import cloud.catfish.mbg.model.UmsIntegrationChangeHistory;
 import cloud.catfish.mbg.model.UmsIntegrationChangeHistoryExample;
 import java.util.List;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 public interface UmsIntegrationChangeHistoryMapper {
     long countByExample(UmsIntegrationChangeHistoryExample example);
@@ -27,4 +28,10 @@ public interface UmsIntegrationChangeHistoryMapper {
     int updateByPrimaryKeySelective(UmsIntegrationChangeHistory row);
 
     int updateByPrimaryKey(UmsIntegrationChangeHistory row);
+
+    List<UmsIntegrationChangeHistory> selectByExampleWithColumns(@Param("example") UmsIntegrationChangeHistoryExample example, @Param("columns") List<String> columns);
+
+    List<UmsIntegrationChangeHistory> selectByExampleAfterKey(@Param("example") UmsIntegrationChangeHistoryExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
+
+    Cursor<UmsIntegrationChangeHistory> streamByExample(UmsIntegrationChangeHistoryExample example);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsIntegrationConsumeSettingMapper {
     int updateByPrimaryKeySelective(UmsIntegrationConsumeSetting row);
 
     int updateByPrimaryKey(UmsIntegrationConsumeSetting row);
+
+    List<UmsIntegrationConsumeSetting> selectByExampleWithColumns(@Param("example") UmsIntegrationConsumeSettingExample example, @Param("columns") List<String> columns);
+
+    List<UmsIntegrationConsumeSetting> selectByExampleAfterKey(@Param("example") UmsIntegrationConsumeSettingExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
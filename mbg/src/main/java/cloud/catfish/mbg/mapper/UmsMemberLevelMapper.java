@@ -27,4 +27,8 @@ public interface UmsMemberLevelMapper {
     int updateByPrimaryKeySelective(UmsMemberLevel row);
 
     int updateByPrimaryKey(UmsMemberLevel row);
+
+    List<UmsMemberLevel> selectByExampleWithColumns(@Param("example") UmsMemberLevelExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberLevel> selectByExampleAfterKey(@Param("example") UmsMemberLevelExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import cloud.catfish.mbg.model.UmsMemberLoginLog;
 import cloud.catfish.mbg.model.UmsMemberLoginLogExample;
 import java.util.List;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 public interface UmsMemberLoginLogMapper {
     long countByExample(UmsMemberLoginLogExample example);
@@ -27,4 +28,10 @@ public interface UmsMemberLoginLogMapper {
     int updateByPrimaryKeySelective(UmsMemberLoginLog row);
 
     int updateByPrimaryKey(UmsMemberLoginLog row);
+
+    List<UmsMemberLoginLog> selectByExampleWithColumns(@Param("example") UmsMemberLoginLogExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberLoginLog> selectByExampleAfterKey(@Param("example") UmsMemberLoginLogExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
+
+    Cursor<UmsMemberLoginLog> streamByExample(UmsMemberLoginLogExample example);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsMemberMapper {
     int updateByPrimaryKeySelective(UmsMember row);
 
     int updateByPrimaryKey(UmsMember row);
+
+    List<UmsMember> selectByExampleWithColumns(@Param("example") UmsMemberExample example, @Param("columns") List<String> columns);
+
+    List<UmsMember> selectByExampleAfterKey(@Param("example") UmsMemberExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
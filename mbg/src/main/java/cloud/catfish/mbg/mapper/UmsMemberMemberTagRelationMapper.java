@@ -27,4 +27,8 @@ public interface UmsMemberMemberTagRelationMapper {
     int updateByPrimaryKeySelective(UmsMemberMemberTagRelation row);
 
     int updateByPrimaryKey(UmsMemberMemberTagRelation row);
+
+    List<UmsMemberMemberTagRelation> selectByExampleWithColumns(@Param("example") UmsMemberMemberTagRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberMemberTagRelation> selectByExampleAfterKey(@Param("example") UmsMemberMemberTagRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
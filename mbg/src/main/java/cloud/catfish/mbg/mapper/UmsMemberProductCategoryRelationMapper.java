@@ -27,4 +27,8 @@ public interface UmsMemberProductCategoryRelationMapper {
     int updateByPrimaryKeySelective(UmsMemberProductCategoryRelation row);
 
     int updateByPrimaryKey(UmsMemberProductCategoryRelation row);
+
+    List<UmsMemberProductCategoryRelation> selectByExampleWithColumns(@Param("example") UmsMemberProductCategoryRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberProductCategoryRelation> selectByExampleAfterKey(@Param("example") UmsMemberProductCategoryRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
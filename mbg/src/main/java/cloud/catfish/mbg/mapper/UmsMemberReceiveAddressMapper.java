@@ -27,4 +27,8 @@ public interface UmsMemberReceiveAddressMapper {
     int updateByPrimaryKeySelective(UmsMemberReceiveAddress row);
 
     int updateByPrimaryKey(UmsMemberReceiveAddress row);
+
+    List<UmsMemberReceiveAddress> selectByExampleWithColumns(@Param("example") UmsMemberReceiveAddressExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberReceiveAddress> selectByExampleAfterKey(@Param("example") UmsMemberReceiveAddressExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsMemberRuleSettingMapper {
     int updateByPrimaryKeySelective(UmsMemberRuleSetting row);
 
     int updateByPrimaryKey(UmsMemberRuleSetting row);
+
+    List<UmsMemberRuleSetting> selectByExampleWithColumns(@Param("example") UmsMemberRuleSettingExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberRuleSetting> selectByExampleAfterKey(@Param("example") UmsMemberRuleSettingExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsMemberStatisticsInfoMapper {
     int updateByPrimaryKeySelective(UmsMemberStatisticsInfo row);
 
     int updateByPrimaryKey(UmsMemberStatisticsInfo row);
+
+    List<UmsMemberStatisticsInfo> selectByExampleWithColumns(@Param("example") UmsMemberStatisticsInfoExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberStatisticsInfo> selectByExampleAfterKey(@Param("example") UmsMemberStatisticsInfoExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
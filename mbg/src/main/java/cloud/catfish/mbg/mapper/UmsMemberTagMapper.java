@@ -27,4 +27,8 @@ public interface UmsMemberTagMapper {
     int updateByPrimaryKeySelective(UmsMemberTag row);
 
     int updateByPrimaryKey(UmsMemberTag row);
+
+    List<UmsMemberTag> selectByExampleWithColumns(@Param("example") UmsMemberTagExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberTag> selectByExampleAfterKey(@Param("example") UmsMemberTagExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsMemberTaskMapper {
     int updateByPrimaryKeySelective(UmsMemberTask row);
 
     int updateByPrimaryKey(UmsMemberTask row);
+
+    List<UmsMemberTask> selectByExampleWithColumns(@Param("example") UmsMemberTaskExample example, @Param("columns") List<String> columns);
+
+    List<UmsMemberTask> selectByExampleAfterKey(@Param("example") UmsMemberTaskExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsMenuMapper {
     int updateByPrimaryKeySelective(UmsMenu row);
 
     int updateByPrimaryKey(UmsMenu row);
+
+    List<UmsMenu> selectByExampleWithColumns(@Param("example") UmsMenuExample example, @Param("columns") List<String> columns);
+
+    List<UmsMenu> selectByExampleAfterKey(@Param("example") UmsMenuExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsPermissionMapper {
     int updateByPrimaryKeySelective(UmsPermission row);
 
     int updateByPrimaryKey(UmsPermission row);
+
+    List<UmsPermission> selectByExampleWithColumns(@Param("example") UmsPermissionExample example, @Param("columns") List<String> columns);
+
+    List<UmsPermission> selectByExampleAfterKey(@Param("example") UmsPermissionExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
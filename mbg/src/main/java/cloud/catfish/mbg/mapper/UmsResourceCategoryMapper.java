@@ -27,4 +27,8 @@ public interface UmsResourceCategoryMapper {
     int updateByPrimaryKeySelective(UmsResourceCategory row);
 
     int updateByPrimaryKey(UmsResourceCategory row);
+
+    List<UmsResourceCategory> selectByExampleWithColumns(@Param("example") UmsResourceCategoryExample example, @Param("columns") List<String> columns);
+
+    List<UmsResourceCategory> selectByExampleAfterKey(@Param("example") UmsResourceCategoryExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -27,4 +27,8 @@ public interface UmsResourceMapper {
     int updateByPrimaryKeySelective(UmsResource row);
 
     int updateByPrimaryKey(UmsResource row);
+
+    List<UmsResource> selectByExampleWithColumns(@Param("example") UmsResourceExample example, @Param("columns") List<String> columns);
+
+    List<UmsResource> selectByExampleAfterKey(@Param("example") UmsResourceExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
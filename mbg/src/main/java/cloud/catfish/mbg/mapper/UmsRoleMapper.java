@@ -27,4 +27,8 @@ public interface UmsRoleMapper {
     int updateByPrimaryKeySelective(UmsRole row);
 
     int updateByPrimaryKey(UmsRole row);
+
+    List<UmsRole> selectByExampleWithColumns(@Param("example") UmsRoleExample example, @Param("columns") List<String> columns);
+
+    List<UmsRole> selectByExampleAfterKey(@Param("example") UmsRoleExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
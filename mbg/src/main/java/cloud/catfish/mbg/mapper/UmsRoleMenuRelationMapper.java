@@ -27,4 +27,8 @@ public interface UmsRoleMenuRelationMapper {
     int updateByPrimaryKeySelective(UmsRoleMenuRelation row);
 
     int updateByPrimaryKey(UmsRoleMenuRelation row);
+
+    List<UmsRoleMenuRelation> selectByExampleWithColumns(@Param("example") UmsRoleMenuRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsRoleMenuRelation> selectByExampleAfterKey(@Param("example") UmsRoleMenuRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
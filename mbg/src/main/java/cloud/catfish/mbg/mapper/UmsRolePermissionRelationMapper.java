@@ -27,4 +27,8 @@ public interface UmsRolePermissionRelationMapper {
     int updateByPrimaryKeySelective(UmsRolePermissionRelation row);
 
     int updateByPrimaryKey(UmsRolePermissionRelation row);
+
+    List<UmsRolePermissionRelation> selectByExampleWithColumns(@Param("example") UmsRolePermissionRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsRolePermissionRelation> selectByExampleAfterKey(@Param("example") UmsRolePermissionRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
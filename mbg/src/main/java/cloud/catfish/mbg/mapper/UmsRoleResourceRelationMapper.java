@@ -27,4 +27,8 @@ public interface UmsRoleResourceRelationMapper {
     int updateByPrimaryKeySelective(UmsRoleResourceRelation row);
 
     int updateByPrimaryKey(UmsRoleResourceRelation row);
+
+    List<UmsRoleResourceRelation> selectByExampleWithColumns(@Param("example") UmsRoleResourceRelationExample example, @Param("columns") List<String> columns);
+
+    List<UmsRoleResourceRelation> selectByExampleAfterKey(@Param("example") UmsRoleResourceRelationExample example, @Param("lastId") Long lastId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+package cloud.catfish.mbg.plugin;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generates column projection and keyset pagination selects for every table
+ * with a single column primary key:
+ * <ul>
+ *     <li>selectByExampleWithColumns(example, columns): only the requested columns
+ *     are selected, unknown column names are dropped by a generated whitelist and
+ *     Base_Column_List is used when none of the requested columns is known</li>
+ *     <li>selectByExampleAfterKey(example, lastId, limit): rows ordered by primary key
+ *     and starting after lastId, so deep pages cost the same as the first one</li>
+ * </ul>
+ */
+public class KeysetPaginationPlugin extends PluginAdapter {
+
+    private static final String SELECT_WITH_COLUMNS = "selectByExampleWithColumns"; //$NON-NLS-1$
+    private static final String SELECT_AFTER_KEY = "selectByExampleAfterKey"; //$NON-NLS-1$
+    private static final String KEYSET_WHERE_CLAUSE = "Keyset_Where_Clause"; //$NON-NLS-1$
+
+    @Override
+    public boolean validate(List<String> warnings) {
+        return true;
+    }
+
+    @Override
+    public boolean clientGenerated(Interface interfaze, IntrospectedTable introspectedTable) {
+        if (!isSupported(introspectedTable)) {
+            return true;
+        }
+        FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+        FullyQualifiedJavaType exampleType = new FullyQualifiedJavaType(introspectedTable.getExampleType());
+        FullyQualifiedJavaType keyType = getKeyColumn(introspectedTable).getFullyQualifiedJavaType();
+        FullyQualifiedJavaType listType = FullyQualifiedJavaType.getNewListInstance();
+        listType.addTypeArgument(recordType);
+        FullyQualifiedJavaType columnListType = FullyQualifiedJavaType.getNewListInstance();
+        columnListType.addTypeArgument(FullyQualifiedJavaType.getStringInstance());
+
+        interfaze.addImportedType(recordType);
+        interfaze.addImportedType(exampleType);
+        interfaze.addImportedType(keyType);
+        interfaze.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Param")); //$NON-NLS-1$
+
+        Method withColumns = new Method(SELECT_WITH_COLUMNS);
+        withColumns.setAbstract(true);
+        withColumns.setReturnType(listType);
+        withColumns.addParameter(new Parameter(exampleType, "example", "@Param(\"example\")")); //$NON-NLS-1$ //$NON-NLS-2$
+        withColumns.addParameter(new Parameter(columnListType, "columns", "@Param(\"columns\")")); //$NON-NLS-1$ //$NON-NLS-2$
+        context.getCommentGenerator().addGeneralMethodComment(withColumns, introspectedTable);
+        interfaze.addMethod(withColumns);
+
+        Method afterKey = new Method(SELECT_AFTER_KEY);
+        afterKey.setAbstract(true);
+        afterKey.setReturnType(listType);
+        afterKey.addParameter(new Parameter(exampleType, "example", "@Param(\"example\")")); //$NON-NLS-1$ //$NON-NLS-2$
+        afterKey.addParameter(new Parameter(keyType, "lastId", "@Param(\"lastId\")")); //$NON-NLS-1$ //$NON-NLS-2$
+        afterKey.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "limit", "@Param(\"limit\")")); //$NON-NLS-1$ //$NON-NLS-2$
+        context.getCommentGenerator().addGeneralMethodComment(afterKey, introspectedTable);
+        interfaze.addMethod(afterKey);
+        return true;
+    }
+
+    @Override
+    public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+        if (!isSupported(introspectedTable)) {
+            return true;
+        }
+        XmlElement root = document.getRootElement();
+        root.addElement(buildKeysetWhereClause(introspectedTable));
+        root.addElement(buildSelectWithColumns(introspectedTable));
+        root.addElement(buildSelectAfterKey(introspectedTable));
+        return true;
+    }
+
+    /**
+     * 只为单列主键且生成了selectByExample的表生成
+     */
+    private boolean isSupported(IntrospectedTable introspectedTable) {
+        return introspectedTable.getPrimaryKeyColumns().size() == 1
+                && introspectedTable.getRules().generateSelectByExampleWithoutBLOBs();
+    }
+
+    private IntrospectedColumn getKeyColumn(IntrospectedTable introspectedTable) {
+        return introspectedTable.getPrimaryKeyColumns().get(0);
+    }
+
+    private XmlElement buildSelectWithColumns(IntrospectedTable introspectedTable) {
+        XmlElement select = new XmlElement("select"); //$NON-NLS-1$
+        select.addAttribute(new Attribute("id", SELECT_WITH_COLUMNS)); //$NON-NLS-1$
+        select.addAttribute(new Attribute("parameterType", "map")); //$NON-NLS-1$ //$NON-NLS-2$
+        select.addAttribute(new Attribute("resultMap", introspectedTable.getBaseResultMapId())); //$NON-NLS-1$
+        context.getCommentGenerator().addComment(select);
+
+        select.addElement(new TextElement("select")); //$NON-NLS-1$
+        XmlElement distinct = new XmlElement("if"); //$NON-NLS-1$
+        distinct.addAttribute(new Attribute("test", "example != null and example.distinct")); //$NON-NLS-1$ //$NON-NLS-2$
+        distinct.addElement(new TextElement("distinct")); //$NON-NLS-1$
+        select.addElement(distinct);
+
+        // 列名只能命中白名单，未传列或所有列都不在白名单中时退化为Base_Column_List，避免生成select from
+        List<IntrospectedColumn> columns = introspectedTable.getNonBLOBColumns();
+        String whitelist = columns.stream()
+                .map(column -> "'" + column.getActualColumnName() + "'") //$NON-NLS-1$ //$NON-NLS-2$
+                .collect(Collectors.joining(", ", "{", "}")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        XmlElement choose = new XmlElement("choose"); //$NON-NLS-1$
+        XmlElement when = new XmlElement("when"); //$NON-NLS-1$
+        when.addAttribute(new Attribute("test", //$NON-NLS-1$
+                "columns != null and !columns.{? #this in " + whitelist + "}.isEmpty()")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement foreach = new XmlElement("foreach"); //$NON-NLS-1$
+        foreach.addAttribute(new Attribute("collection", "columns")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreach.addAttribute(new Attribute("item", "column")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreach.addAttribute(new Attribute("separator", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement columnChoose = new XmlElement("choose"); //$NON-NLS-1$
+        for (IntrospectedColumn column : columns) {
+            XmlElement columnWhen = new XmlElement("when"); //$NON-NLS-1$
+            columnWhen.addAttribute(new Attribute("test", "column == '" + column.getActualColumnName() + "'")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            columnWhen.addElement(new TextElement(MyBatis3FormattingUtilities.getEscapedColumnName(column)));
+            columnChoose.addElement(columnWhen);
+        }
+        foreach.addElement(columnChoose);
+        when.addElement(foreach);
+        choose.addElement(when);
+        XmlElement otherwise = new XmlElement("otherwise"); //$NON-NLS-1$
+        otherwise.addElement(includeElement(introspectedTable.getBaseColumnListId()));
+        choose.addElement(otherwise);
+        select.addElement(choose);
+
+        select.addElement(new TextElement("from " + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime())); //$NON-NLS-1$
+        XmlElement where = new XmlElement("if"); //$NON-NLS-1$
+        where.addAttribute(new Attribute("test", "example != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        where.addElement(includeElement(introspectedTable.getMyBatis3UpdateByExampleWhereClauseId()));
+        select.addElement(where);
+        XmlElement orderBy = new XmlElement("if"); //$NON-NLS-1$
+        orderBy.addAttribute(new Attribute("test", "example != null and example.orderByClause != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        orderBy.addElement(new TextElement("order by ${example.orderByClause}")); //$NON-NLS-1$
+        select.addElement(orderBy);
+        return select;
+    }
+
+    private XmlElement buildSelectAfterKey(IntrospectedTable introspectedTable) {
+        IntrospectedColumn keyColumn = getKeyColumn(introspectedTable);
+        XmlElement select = new XmlElement("select"); //$NON-NLS-1$
+        select.addAttribute(new Attribute("id", SELECT_AFTER_KEY)); //$NON-NLS-1$
+        select.addAttribute(new Attribute("parameterType", "map")); //$NON-NLS-1$ //$NON-NLS-2$
+        select.addAttribute(new Attribute("resultMap", introspectedTable.getBaseResultMapId())); //$NON-NLS-1$
+        context.getCommentGenerator().addComment(select);
+
+        select.addElement(new TextElement("select")); //$NON-NLS-1$
+        select.addElement(includeElement(introspectedTable.getBaseColumnListId()));
+        select.addElement(new TextElement("from " + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime())); //$NON-NLS-1$
+        select.addElement(includeElement(KEYSET_WHERE_CLAUSE));
+        // 按主键排序是keyset分页成立的前提，忽略example中的orderByClause
+        select.addElement(new TextElement("order by " + MyBatis3FormattingUtilities.getEscapedColumnName(keyColumn))); //$NON-NLS-1$
+        select.addElement(new TextElement("limit #{limit,jdbcType=INTEGER}")); //$NON-NLS-1$
+        return select;
+    }
+
+    /**
+     * lastId条件与example的or条件组合成一个where子句
+     */
+    private XmlElement buildKeysetWhereClause(IntrospectedTable introspectedTable) {
+        IntrospectedColumn keyColumn = getKeyColumn(introspectedTable);
+        XmlElement sql = new XmlElement("sql"); //$NON-NLS-1$
+        sql.addAttribute(new Attribute("id", KEYSET_WHERE_CLAUSE)); //$NON-NLS-1$
+        context.getCommentGenerator().addComment(sql);
+
+        XmlElement where = new XmlElement("where"); //$NON-NLS-1$
+        XmlElement lastId = new XmlElement("if"); //$NON-NLS-1$
+        lastId.addAttribute(new Attribute("test", "lastId != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        lastId.addElement(new TextElement("and " + MyBatis3FormattingUtilities.getEscapedColumnName(keyColumn) //$NON-NLS-1$
+                + " &gt; #{lastId,jdbcType=" + keyColumn.getJdbcTypeName() + "}")); //$NON-NLS-1$ //$NON-NLS-2$
+        where.addElement(lastId);
+
+        XmlElement example = new XmlElement("if"); //$NON-NLS-1$
+        example.addAttribute(new Attribute("test", "example != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement orTrim = new XmlElement("trim"); //$NON-NLS-1$
+        orTrim.addAttribute(new Attribute("prefix", "and (")); //$NON-NLS-1$ //$NON-NLS-2$
+        orTrim.addAttribute(new Attribute("prefixOverrides", "or")); //$NON-NLS-1$ //$NON-NLS-2$
+        orTrim.addAttribute(new Attribute("suffix", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement criteriaLoop = new XmlElement("foreach"); //$NON-NLS-1$
+        criteriaLoop.addAttribute(new Attribute("collection", "example.oredCriteria")); //$NON-NLS-1$ //$NON-NLS-2$
+        criteriaLoop.addAttribute(new Attribute("item", "criteria")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement valid = new XmlElement("if"); //$NON-NLS-1$
+        valid.addAttribute(new Attribute("test", "criteria.valid")); //$NON-NLS-1$ //$NON-NLS-2$
+        valid.addElement(new TextElement("or")); //$NON-NLS-1$
+        XmlElement andTrim = new XmlElement("trim"); //$NON-NLS-1$
+        andTrim.addAttribute(new Attribute("prefix", "(")); //$NON-NLS-1$ //$NON-NLS-2$
+        andTrim.addAttribute(new Attribute("prefixOverrides", "and")); //$NON-NLS-1$ //$NON-NLS-2$
+        andTrim.addAttribute(new Attribute("suffix", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        andTrim.addElement(buildCriterionLoop());
+        valid.addElement(andTrim);
+        criteriaLoop.addElement(valid);
+        orTrim.addElement(criteriaLoop);
+        example.addElement(orTrim);
+        where.addElement(example);
+
+        sql.addElement(where);
+        return sql;
+    }
+
+    /**
+     * 与Example_Where_Clause中的criterion处理保持一致
+     */
+    private XmlElement buildCriterionLoop() {
+        XmlElement loop = new XmlElement("foreach"); //$NON-NLS-1$
+        loop.addAttribute(new Attribute("collection", "criteria.criteria")); //$NON-NLS-1$ //$NON-NLS-2$
+        loop.addAttribute(new Attribute("item", "criterion")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement choose = new XmlElement("choose"); //$NON-NLS-1$
+
+        XmlElement noValue = new XmlElement("when"); //$NON-NLS-1$
+        noValue.addAttribute(new Attribute("test", "criterion.noValue")); //$NON-NLS-1$ //$NON-NLS-2$
+        noValue.addElement(new TextElement("and ${criterion.condition}")); //$NON-NLS-1$
+        choose.addElement(noValue);
+
+        XmlElement singleValue = new XmlElement("when"); //$NON-NLS-1$
+        singleValue.addAttribute(new Attribute("test", "criterion.singleValue")); //$NON-NLS-1$ //$NON-NLS-2$
+        singleValue.addElement(new TextElement("and ${criterion.condition} #{criterion.value}")); //$NON-NLS-1$
+        choose.addElement(singleValue);
+
+        XmlElement betweenValue = new XmlElement("when"); //$NON-NLS-1$
+        betweenValue.addAttribute(new Attribute("test", "criterion.betweenValue")); //$NON-NLS-1$ //$NON-NLS-2$
+        betweenValue.addElement(new TextElement("and ${criterion.condition} #{criterion.value} and #{criterion.secondValue}")); //$NON-NLS-1$
+        choose.addElement(betweenValue);
+
+        XmlElement listValue = new XmlElement("when"); //$NON-NLS-1$
+        listValue.addAttribute(new Attribute("test", "criterion.listValue")); //$NON-NLS-1$ //$NON-NLS-2$
+        listValue.addElement(new TextElement("and ${criterion.condition}")); //$NON-NLS-1$
+        XmlElement listItems = new XmlElement("foreach"); //$NON-NLS-1$
+        listItems.addAttribute(new Attribute("close", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        listItems.addAttribute(new Attribute("collection", "criterion.value")); //$NON-NLS-1$ //$NON-NLS-2$
+        listItems.addAttribute(new Attribute("item", "listItem")); //$NON-NLS-1$ //$NON-NLS-2$
+        listItems.addAttribute(new Attribute("open", "(")); //$NON-NLS-1$ //$NON-NLS-2$
+        listItems.addAttribute(new Attribute("separator", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+        listItems.addElement(new TextElement("#{listItem}")); //$NON-NLS-1$
+        listValue.addElement(listItems);
+        choose.addElement(listValue);
+
+        loop.addElement(choose);
+        return loop;
+    }
+
+    private XmlElement includeElement(String refid) {
+        XmlElement include = new XmlElement("include"); //$NON-NLS-1$
+        include.addAttribute(new Attribute("refid", refid)); //$NON-NLS-1$
+        return include;
+    }
+}
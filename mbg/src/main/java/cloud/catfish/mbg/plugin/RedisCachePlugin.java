@@ -0,0 +1,74 @@
+package cloud.catfish.mbg.plugin;
+
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.StringUtility;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Adds a {@code <cache>} element backed by
+ * {@link cloud.catfish.mbg.cache.RedisMybatisCache} to the mappers of the
+ * configured tables only.
+ * <p>
+ * Properties:
+ * <ul>
+ *     <li>tables: comma separated table names, required</li>
+ *     <li>localSize: max entries of the local LRU tier</li>
+ *     <li>expire: ttl of the redis tier in seconds</li>
+ * </ul>
+ */
+public class RedisCachePlugin extends PluginAdapter {
+
+    private static final String CACHE_TYPE = "cloud.catfish.mbg.cache.RedisMybatisCache"; //$NON-NLS-1$
+
+    private Set<String> tables;
+
+    @Override
+    public boolean validate(List<String> warnings) {
+        if (!StringUtility.stringHasValue(properties.getProperty("tables"))) { //$NON-NLS-1$
+            warnings.add("RedisCachePlugin: property 'tables' is required"); //$NON-NLS-1$
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        super.setProperties(properties);
+        String tableList = properties.getProperty("tables", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        tables = Arrays.stream(tableList.split(",")).map(String::trim).map(String::toLowerCase).collect(Collectors.toSet()); //$NON-NLS-1$
+    }
+
+    @Override
+    public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+        String tableName = introspectedTable.getFullyQualifiedTable().getIntrospectedTableName();
+        if (!tables.contains(tableName.toLowerCase())) {
+            return true;
+        }
+        XmlElement cache = new XmlElement("cache"); //$NON-NLS-1$
+        cache.addAttribute(new Attribute("type", CACHE_TYPE)); //$NON-NLS-1$
+        addCacheProperty(cache, "localSize"); //$NON-NLS-1$
+        addCacheProperty(cache, "expire"); //$NON-NLS-1$
+        context.getCommentGenerator().addComment(cache);
+        document.getRootElement().addElement(0, cache);
+        return true;
+    }
+
+    private void addCacheProperty(XmlElement cache, String name) {
+        String value = properties.getProperty(name);
+        if (StringUtility.stringHasValue(value)) {
+            XmlElement property = new XmlElement("property"); //$NON-NLS-1$
+            property.addAttribute(new Attribute("name", name)); //$NON-NLS-1$
+            property.addAttribute(new Attribute("value", value)); //$NON-NLS-1$
+            cache.addElement(property);
+        }
+    }
+}
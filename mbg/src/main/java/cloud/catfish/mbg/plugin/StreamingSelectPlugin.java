@@ -0,0 +1,129 @@
+package cloud.catfish.mbg.plugin;
+
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.internal.util.StringUtility;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates {@code Cursor<T> streamByExample(Example)} backed by a forward only,
+ * streaming result set. With MySQL Connector/J a fetch size of
+ * {@link Integer#MIN_VALUE} makes the driver hand over rows one by one instead of
+ * buffering the whole result, so the cursor has to be consumed inside an open
+ * SqlSession, e.g. in a transactional method.
+ * <p>
+ * Properties:
+ * <ul>
+ *     <li>tables: comma separated table names, all tables when empty</li>
+ *     <li>fetchSize: defaults to Integer.MIN_VALUE</li>
+ * </ul>
+ */
+public class StreamingSelectPlugin extends PluginAdapter {
+
+    private static final String STREAM_BY_EXAMPLE = "streamByExample"; //$NON-NLS-1$
+
+    private Set<String> tables;
+    private int fetchSize = Integer.MIN_VALUE;
+
+    @Override
+    public boolean validate(List<String> warnings) {
+        return true;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        super.setProperties(properties);
+        String tableList = properties.getProperty("tables"); //$NON-NLS-1$
+        tables = StringUtility.stringHasValue(tableList)
+                ? Arrays.stream(tableList.split(",")).map(String::trim).map(String::toLowerCase).collect(Collectors.toSet()) //$NON-NLS-1$
+                : Set.of();
+        String fetchSizeValue = properties.getProperty("fetchSize"); //$NON-NLS-1$
+        if (StringUtility.stringHasValue(fetchSizeValue)) {
+            fetchSize = Integer.parseInt(fetchSizeValue.trim());
+        }
+    }
+
+    @Override
+    public boolean clientGenerated(Interface interfaze, IntrospectedTable introspectedTable) {
+        if (!isSupported(introspectedTable)) {
+            return true;
+        }
+        FullyQualifiedJavaType recordType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+        FullyQualifiedJavaType exampleType = new FullyQualifiedJavaType(introspectedTable.getExampleType());
+        FullyQualifiedJavaType cursorType = new FullyQualifiedJavaType("org.apache.ibatis.cursor.Cursor"); //$NON-NLS-1$
+        FullyQualifiedJavaType returnType = new FullyQualifiedJavaType("org.apache.ibatis.cursor.Cursor"); //$NON-NLS-1$
+        returnType.addTypeArgument(recordType);
+
+        interfaze.addImportedType(recordType);
+        interfaze.addImportedType(exampleType);
+        interfaze.addImportedType(cursorType);
+
+        Method method = new Method(STREAM_BY_EXAMPLE);
+        method.setAbstract(true);
+        method.setReturnType(returnType);
+        method.addParameter(new Parameter(exampleType, "example")); //$NON-NLS-1$
+        context.getCommentGenerator().addGeneralMethodComment(method, introspectedTable);
+        interfaze.addMethod(method);
+        return true;
+    }
+
+    @Override
+    public boolean sqlMapDocumentGenerated(Document document, IntrospectedTable introspectedTable) {
+        if (!isSupported(introspectedTable)) {
+            return true;
+        }
+        XmlElement select = new XmlElement("select"); //$NON-NLS-1$
+        select.addAttribute(new Attribute("fetchSize", String.valueOf(fetchSize))); //$NON-NLS-1$
+        select.addAttribute(new Attribute("id", STREAM_BY_EXAMPLE)); //$NON-NLS-1$
+        select.addAttribute(new Attribute("parameterType", introspectedTable.getExampleType())); //$NON-NLS-1$
+        select.addAttribute(new Attribute("resultMap", introspectedTable.getBaseResultMapId())); //$NON-NLS-1$
+        select.addAttribute(new Attribute("resultSetType", "FORWARD_ONLY")); //$NON-NLS-1$ //$NON-NLS-2$
+        context.getCommentGenerator().addComment(select);
+
+        select.addElement(new TextElement("select")); //$NON-NLS-1$
+        XmlElement distinct = new XmlElement("if"); //$NON-NLS-1$
+        distinct.addAttribute(new Attribute("test", "distinct")); //$NON-NLS-1$ //$NON-NLS-2$
+        distinct.addElement(new TextElement("distinct")); //$NON-NLS-1$
+        select.addElement(distinct);
+        XmlElement columns = new XmlElement("include"); //$NON-NLS-1$
+        columns.addAttribute(new Attribute("refid", introspectedTable.getBaseColumnListId())); //$NON-NLS-1$
+        select.addElement(columns);
+        select.addElement(new TextElement("from " + introspectedTable.getAliasedFullyQualifiedTableNameAtRuntime())); //$NON-NLS-1$
+
+        XmlElement where = new XmlElement("if"); //$NON-NLS-1$
+        where.addAttribute(new Attribute("test", "_parameter != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement whereClause = new XmlElement("include"); //$NON-NLS-1$
+        whereClause.addAttribute(new Attribute("refid", introspectedTable.getExampleWhereClauseId())); //$NON-NLS-1$
+        where.addElement(whereClause);
+        select.addElement(where);
+
+        XmlElement orderBy = new XmlElement("if"); //$NON-NLS-1$
+        orderBy.addAttribute(new Attribute("test", "orderByClause != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        orderBy.addElement(new TextElement("order by ${orderByClause}")); //$NON-NLS-1$
+        select.addElement(orderBy);
+
+        document.getRootElement().addElement(select);
+        return true;
+    }
+
+    private boolean isSupported(IntrospectedTable introspectedTable) {
+        if (!introspectedTable.getRules().generateSelectByExampleWithoutBLOBs()) {
+            return false;
+        }
+        String tableName = introspectedTable.getFullyQualifiedTable().getIntrospectedTableName();
+        return tables.isEmpty() || tables.contains(tableName.toLowerCase());
+    }
+}
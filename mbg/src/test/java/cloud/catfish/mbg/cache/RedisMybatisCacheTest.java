@@ -0,0 +1,67 @@
+package cloud.catfish.mbg.cache;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 二级缓存的本地层，Redis使用mock，写入Redis的结果被忽略
+ * Created by catfish on 2026/10/19.
+ */
+class RedisMybatisCacheTest {
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisMybatisCache.setRedisTemplate(mock(RedisTemplate.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RedisMybatisCache.setRedisTemplate(null);
+    }
+
+    @Test
+    void cachedCountKeepsLongType() {
+        RedisMybatisCache cache = new RedisMybatisCache("cloud.catfish.mbg.mapper.UmsRoleMapper");
+        CacheKey key = key("cloud.catfish.mbg.mapper.UmsRoleMapper.countByExample");
+        List<Object> count = new ArrayList<>();
+        count.add(3L);
+        cache.putObject(key, count);
+
+        for (int i = 0; i < 2; i++) {
+            List<?> cached = assertInstanceOf(List.class, cache.getObject(key));
+            Long value = assertInstanceOf(Long.class, cached.get(0));
+            assertEquals(3L, value);
+        }
+    }
+
+    @Test
+    void expiredLocalEntryIsNotReturned() {
+        RedisMybatisCache cache = new RedisMybatisCache("cloud.catfish.mbg.mapper.UmsMenuMapper");
+        cache.setLocalExpire(0);
+        CacheKey key = key("cloud.catfish.mbg.mapper.UmsMenuMapper.selectByExample");
+        cache.putObject(key, new ArrayList<>(List.of("menu")));
+
+        // 本地已过期，回源到Redis，mock返回null
+        assertNull(cache.getObject(key));
+    }
+
+    private static CacheKey key(String statementId) {
+        CacheKey key = new CacheKey();
+        key.update(statementId);
+        key.update(0);
+        key.update(Integer.MAX_VALUE);
+        return key;
+    }
+}
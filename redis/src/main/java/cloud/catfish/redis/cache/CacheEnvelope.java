@@ -0,0 +1,35 @@
+package cloud.catfish.redis.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 缓存值包装，额外记录加载耗时和过期时间，用于提前刷新判断
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEnvelope implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 实际缓存的值
+     */
+    private Object value;
+
+    /**
+     * 加载该值的耗时（毫秒）
+     */
+    private long loadMillis;
+
+    /**
+     * 过期时间戳（毫秒），不过期时为Long.MAX_VALUE
+     */
+    private long expireAt;
+}
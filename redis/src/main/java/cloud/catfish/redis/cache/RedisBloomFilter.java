@@ -0,0 +1,239 @@
+package cloud.catfish.redis.cache;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 基于Redis位图的布隆过滤器，带本地镜像
+ * 本地镜像判断存在时不访问Redis；本地判断不存在时再查Redis，
+ * 以发现其他节点新加入的元素，查到后合并到本地镜像。
+ * 布隆过滤器不支持删除，元素被删除后仍会判断为可能存在，需要定期调用{@link #rebuild(Supplier)}重建。
+ * 调整容量或误判率后也需要重建。
+ * 新加入的元素同时记录在ZSET中，重建时补回快照之后加入的元素，避免被RENAME覆盖。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+public class RedisBloomFilter {
+
+    /**
+     * 最近加入元素的保留时间，需要大于一次重建的耗时
+     */
+    private static final long RECENT_RETENTION_MILLIS = 3_600_000;
+    /**
+     * 补回时向前多取的时间，覆盖节点间的时钟偏差
+     */
+    private static final long RECENT_MARGIN_MILLIS = 60_000;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String key;
+    private final byte[] rawKey;
+    private final byte[] rawRecentKey;
+    /**
+     * 位数组长度
+     */
+    private final long bitSize;
+    /**
+     * 哈希函数个数
+     */
+    private final int hashCount;
+    private volatile AtomicLongArray localBits;
+
+    /**
+     * @param redisTemplate      Redis操作模板
+     * @param key                位图在Redis中的key
+     * @param expectedInsertions 预计元素个数
+     * @param fpp                期望误判率
+     */
+    public RedisBloomFilter(RedisTemplate<String, Object> redisTemplate, String key, long expectedInsertions, double fpp) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.rawKey = key.getBytes(StandardCharsets.UTF_8);
+        this.rawRecentKey = (key + ":recent").getBytes(StandardCharsets.UTF_8);
+        this.bitSize = Math.max(64, (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.localBits = newBits();
+    }
+
+    /**
+     * 从Redis加载位图到本地镜像
+     */
+    public void load() {
+        try {
+            byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey));
+            AtomicLongArray bits = newBits();
+            if (bytes != null) {
+                // Redis位图中offset 0是第一个字节的最高位
+                for (int i = 0; i < bytes.length; i++) {
+                    for (int j = 0; j < 8; j++) {
+                        long offset = (long) i * 8 + j;
+                        if (offset < bitSize && (bytes[i] & (0x80 >>> j)) != 0) {
+                            setBit(bits, offset);
+                        }
+                    }
+                }
+            }
+            localBits = bits;
+            log.info("布隆过滤器加载完成: {}, 位数: {}, 哈希函数个数: {}", key, bitSize, hashCount);
+        } catch (Exception e) {
+            log.warn("布隆过滤器加载失败，本地镜像为空: {}", key, e);
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在，返回false时一定不存在
+     */
+    public boolean mightContain(String value) {
+        long[] offsets = offsets(value);
+        AtomicLongArray bits = localBits;
+        if (allSet(bits, offsets)) {
+            return true;
+        }
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (long offset : offsets) {
+                    connection.stringCommands().getBit(rawKey, offset);
+                }
+                return null;
+            });
+            for (Object result : results) {
+                if (!Boolean.TRUE.equals(result)) {
+                    return false;
+                }
+            }
+            for (long offset : offsets) {
+                setBit(bits, offset);
+            }
+            return true;
+        } catch (Exception e) {
+            // Redis不可用时不拦截，交给后续逻辑处理
+            log.warn("布隆过滤器查询失败: {}", key, e);
+            return true;
+        }
+    }
+
+    /**
+     * 加入元素，先记录到最近加入的ZSET再写位图
+     */
+    public void put(String value) {
+        long[] offsets = offsets(value);
+        AtomicLongArray bits = localBits;
+        for (long offset : offsets) {
+            setBit(bits, offset);
+        }
+        long now = System.currentTimeMillis();
+        byte[] member = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.zSetCommands().zAdd(rawRecentKey, now, member);
+                connection.zSetCommands().zRemRangeByScore(rawRecentKey, Double.NEGATIVE_INFINITY, now - RECENT_RETENTION_MILLIS);
+                for (long offset : offsets) {
+                    connection.stringCommands().setBit(rawKey, offset, true);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("布隆过滤器写入失败: {}", key, e);
+        }
+    }
+
+    /**
+     * 用全量元素重建，先写入临时key再RENAME，重建过程中旧位图仍然可用
+     * 读取快照之后加入的元素可能不在快照中，RENAME后从最近加入的记录中补回
+     *
+     * @param snapshot 读取全量元素，在记录开始时间之后调用
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<String>> snapshot) {
+        long start = System.currentTimeMillis();
+        Collection<String> values = snapshot.get();
+        AtomicLongArray bits = newBits();
+        for (String value : values) {
+            for (long offset : offsets(value)) {
+                setBit(bits, offset);
+            }
+        }
+        byte[] bytes = toRedisBytes(bits);
+        byte[] tempKey = (key + ":rebuilding").getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(tempKey, bytes);
+            connection.keyCommands().rename(tempKey, rawKey);
+            return null;
+        });
+        localBits = bits;
+        int replayed = replayRecent(bits, start - RECENT_MARGIN_MILLIS);
+        log.info("布隆过滤器重建完成: {}, 元素个数: {}, 补回: {}", key, values.size(), replayed);
+    }
+
+    /**
+     * 把since之后加入的元素重新写入本地镜像和Redis位图
+     */
+    private int replayRecent(AtomicLongArray bits, long since) {
+        Set<byte[]> recent = redisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.zSetCommands().zRangeByScore(rawRecentKey, since, Double.POSITIVE_INFINITY));
+        if (recent == null || recent.isEmpty()) {
+            return 0;
+        }
+        List<long[]> offsetsList = recent.stream().map(member -> offsets(new String(member, StandardCharsets.UTF_8))).toList();
+        for (long[] offsets : offsetsList) {
+            for (long offset : offsets) {
+                setBit(bits, offset);
+            }
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long[] offsets : offsetsList) {
+                for (long offset : offsets) {
+                    connection.stringCommands().setBit(rawKey, offset, true);
+                }
+            }
+            return null;
+        });
+        return recent.size();
+    }
+
+    private long[] offsets(String value) {
+        long[] hash = MurmurHash.hash128(value.getBytes(StandardCharsets.UTF_8));
+        long[] offsets = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            offsets[i] = Math.floorMod(hash[0] + i * hash[1], bitSize);
+        }
+        return offsets;
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+    }
+
+    private static boolean allSet(AtomicLongArray bits, long[] offsets) {
+        for (long offset : offsets) {
+            if ((bits.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void setBit(AtomicLongArray bits, long offset) {
+        long mask = 1L << offset;
+        bits.accumulateAndGet((int) (offset >>> 6), mask, (current, bit) -> current | bit);
+    }
+
+    private byte[] toRedisBytes(AtomicLongArray bits) {
+        byte[] bytes = new byte[(int) ((bitSize + 7) >>> 3)];
+        for (long offset = 0; offset < bitSize; offset++) {
+            if ((bits.get((int) (offset >>> 6)) & (1L << offset)) != 0) {
+                bytes[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+            }
+        }
+        return bytes;
+    }
+}
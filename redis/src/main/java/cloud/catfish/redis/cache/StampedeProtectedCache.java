@@ -0,0 +1,342 @@
+package cloud.catfish.redis.cache;
+
+import cloud.catfish.common.redis.HotKeyDetector;
+import cn.hutool.core.util.IdUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 防缓存击穿的Cache装饰器
+ * 1. 节点内同一个key同时只有一个线程加载，其他线程等待加载结果
+ * 2. 节点间通过Redis短期锁互斥，未拿到锁的节点等待缓存写入
+ * 3. 按XFetch算法在过期前概率性地触发后台刷新，热点key不会在高并发下过期
+ * 4. 经过热点key探测，热点key在本地保留短期副本，不再每次读取Redis
+ * 只有@Cacheable(sync = true)才会走加载逻辑，加载结果为null时不缓存
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+public class StampedeProtectedCache implements Cache {
+
+    private static final String LOCK_PREFIX = "cache:lock:";
+    private static final long LOCK_RETRY_INTERVAL_MILLIS = 50;
+
+    // Lua脚本：只释放自己持有的锁
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "    return redis.call('del', KEYS[1]) " +
+            "else " +
+            "    return 0 " +
+            "end", Long.class);
+
+    private final RedisCache delegate;
+    private final StringRedisTemplate lockTemplate;
+    private final Executor refreshExecutor;
+    private final Duration lockTimeout;
+    private final double beta;
+    private final HotKeyDetector hotKeyDetector;
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final Set<Object> refreshing = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * @param delegate        实际的Redis缓存
+     * @param lockTemplate    用于跨节点加锁
+     * @param refreshExecutor 后台刷新线程池
+     * @param lockTimeout     锁的过期时间，也是未拿到锁时等待其他节点加载的最长时间
+     * @param beta            提前刷新系数，越大越早刷新，0表示不提前刷新
+     * @param hotKeyDetector  热点key探测
+     */
+    public StampedeProtectedCache(RedisCache delegate, StringRedisTemplate lockTemplate, Executor refreshExecutor,
+                                  Duration lockTimeout, double beta, HotKeyDetector hotKeyDetector) {
+        this.delegate = delegate;
+        this.lockTemplate = lockTemplate;
+        this.refreshExecutor = refreshExecutor;
+        this.lockTimeout = lockTimeout;
+        this.beta = beta;
+        this.hotKeyDetector = hotKeyDetector;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? new SimpleValueWrapper(unwrap(wrapper.get())) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = hotKeyDetector.get(hotKey(key), () -> delegate.get(key));
+        if (wrapper != null) {
+            Object cached = wrapper.get();
+            if (cached instanceof CacheEnvelope envelope) {
+                if (shouldRefreshEarly(envelope)) {
+                    refreshAsync(key, valueLoader);
+                }
+                return (T) envelope.getValue();
+            }
+            return (T) cached;
+        }
+        return (T) loadSingleFlight(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(key, value, 0));
+        hotKeyDetector.invalidate(hotKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper wrapper = delegate.putIfAbsent(key, wrap(key, value, 0));
+        hotKeyDetector.invalidate(hotKey(key));
+        return wrapper != null ? new SimpleValueWrapper(unwrap(wrapper.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        hotKeyDetector.invalidate(hotKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        hotKeyDetector.invalidate(hotKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        hotKeyDetector.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        hotKeyDetector.invalidateAll();
+        return invalidated;
+    }
+
+    /**
+     * 包装成缓存中保存的格式，供绕过Cache接口批量写入时使用
+     */
+    public CacheEnvelope envelope(Object key, Object value) {
+        return wrap(key, value, 0);
+    }
+
+    /**
+     * 缓存项的过期时间，为0表示不过期
+     */
+    public Duration getTtl(Object key, Object value) {
+        return delegate.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+    }
+
+    /**
+     * 节点内单飞加载，后到的线程复用先到线程的加载结果
+     */
+    private Object loadSingleFlight(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(key, valueLoader, existing);
+        }
+        try {
+            Object value = loadWithLock(key, valueLoader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    /**
+     * 跨节点加锁后加载，未拿到锁时等待其他节点写入缓存，超时后自行加载
+     */
+    private Object loadWithLock(Object key, Callable<?> valueLoader) {
+        String lockKey = lockKey(key);
+        String token = IdUtil.fastSimpleUUID();
+        long deadline = System.currentTimeMillis() + lockTimeout.toMillis();
+        while (!tryLock(lockKey, token)) {
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                return unwrap(wrapper.get());
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("等待缓存加载超时，直接加载: {}::{}", getName(), key);
+                return load(key, valueLoader);
+            }
+            sleep(key, valueLoader);
+        }
+        try {
+            // 拿到锁后再检查一次，其他节点可能刚刚完成加载
+            ValueWrapper wrapper = delegate.get(key);
+            if (wrapper != null) {
+                return unwrap(wrapper.get());
+            }
+            return load(key, valueLoader);
+        } finally {
+            unlock(lockKey, token);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            // 不足1ms的加载按1ms记录，0表示加载耗时未知（put写入），不参与提前刷新
+            long loadMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            delegate.put(key, wrap(key, value, loadMillis));
+            hotKeyDetector.invalidate(hotKey(key));
+        }
+        return value;
+    }
+
+    /**
+     * XFetch：剩余时间越短、加载越慢，越可能提前刷新
+     */
+    private boolean shouldRefreshEarly(CacheEnvelope envelope) {
+        if (beta <= 0 || envelope.getLoadMillis() <= 0 || envelope.getExpireAt() == Long.MAX_VALUE) {
+            return false;
+        }
+        double gap = -envelope.getLoadMillis() * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= envelope.getExpireAt();
+    }
+
+    /**
+     * 后台刷新，同一个key在节点内只提交一次，跨节点只有拿到锁的节点刷新
+     */
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                String lockKey = lockKey(key);
+                String token = IdUtil.fastSimpleUUID();
+                try {
+                    if (tryLock(lockKey, token)) {
+                        try {
+                            load(key, valueLoader);
+                            log.debug("缓存提前刷新完成: {}::{}", getName(), key);
+                        } finally {
+                            unlock(lockKey, token);
+                        }
+                    }
+                } catch (Exception e) {
+                    log.warn("缓存提前刷新失败: {}::{}", getName(), key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(lockTemplate.opsForValue().setIfAbsent(lockKey, token, lockTimeout));
+        } catch (Exception e) {
+            // Redis锁不可用时退化为仅节点内单飞
+            log.warn("获取缓存加载锁失败: {}", lockKey, e);
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            lockTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey), token);
+        } catch (Exception e) {
+            log.warn("释放缓存加载锁失败: {}", lockKey, e);
+        }
+    }
+
+    private void sleep(Object key, Callable<?> valueLoader) {
+        try {
+            Thread.sleep(LOCK_RETRY_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private String hotKey(Object key) {
+        return getName() + "::" + key;
+    }
+
+    private String lockKey(Object key) {
+        return LOCK_PREFIX + getName() + "::" + key;
+    }
+
+    private CacheEnvelope wrap(Object key, Object value, long loadMillis) {
+        Duration ttl = getTtl(key, value);
+        long expireAt = ttl.isZero() || ttl.isNegative() ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+        return new CacheEnvelope(value, loadMillis, expireAt);
+    }
+
+    private static Object unwrap(Object cached) {
+        return cached instanceof CacheEnvelope envelope ? envelope.getValue() : cached;
+    }
+}
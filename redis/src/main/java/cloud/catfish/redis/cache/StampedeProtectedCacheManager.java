@@ -0,0 +1,59 @@
+package cloud.catfish.redis.cache;
+
+import cloud.catfish.common.redis.HotKeyDetector;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 所有缓存都用{@link StampedeProtectedCache}装饰的RedisCacheManager
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+public class StampedeProtectedCacheManager extends RedisCacheManager implements DisposableBean {
+
+    private final StringRedisTemplate lockTemplate;
+    private final Duration lockTimeout;
+    private final double beta;
+    private final HotKeyDetector hotKeyDetector;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public StampedeProtectedCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaultCacheConfiguration,
+                                         StringRedisTemplate lockTemplate, Duration lockTimeout, double beta,
+                                         HotKeyDetector hotKeyDetector) {
+        super(cacheWriter, defaultCacheConfiguration);
+        this.lockTemplate = lockTemplate;
+        this.lockTimeout = lockTimeout;
+        this.beta = beta;
+        this.hotKeyDetector = hotKeyDetector;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        // 刷新任务堆积时直接丢弃，旧值在过期前仍然可用
+        this.refreshExecutor = new ThreadPoolExecutor(1, 4, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        if (cache instanceof RedisCache redisCache) {
+            cache = new StampedeProtectedCache(redisCache, lockTemplate, refreshExecutor, lockTimeout, beta, hotKeyDetector);
+        }
+        return super.decorateCache(cache);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdown();
+    }
+}
@@ -0,0 +1,141 @@
+package cloud.catfish.redis.config;
+
+import cloud.catfish.common.config.BaseRedisConfig;
+import cloud.catfish.redis.cache.RedisBloomFilter;
+import cloud.catfish.redis.cache.StampedeProtectedCacheManager;
+import cloud.catfish.redis.counter.BufferedCounterService;
+import cloud.catfish.redis.lock.RedisLockService;
+import cloud.catfish.redis.ratelimit.LeasedRateLimiter;
+import cloud.catfish.redis.ratelimit.RateLimitFilter;
+import cloud.catfish.redis.ratelimit.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Redis相关配置
+ * 缓存使用防击穿的RedisCacheManager
+ * 开启redis.rate-limit.enabled后注册按路由限流的过滤器
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@EnableCaching
+@Configuration
+public class RedisConfig extends BaseRedisConfig {
+
+    /**
+     * 缓存加载锁的过期时间
+     */
+    @Value("${redis.cache.lock-timeout:10s}")
+    private Duration lockTimeout;
+
+    /**
+     * 提前刷新系数，0表示关闭
+     */
+    @Value("${redis.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    /**
+     * 分布式锁的租期，持有期间由看门狗续期
+     */
+    @Value("${redis.lock.lease-time:30s}")
+    private Duration lockLeaseTime;
+
+    /**
+     * 分布式锁的本地分段数
+     */
+    @Value("${redis.lock.stripes:256}")
+    private int lockStripes;
+
+    /**
+     * 计数器增量的定时刷新间隔
+     */
+    @Value("${redis.counter.flush-interval:200ms}")
+    private Duration counterFlushInterval;
+
+    /**
+     * 计数器累计递增多少次后提前刷新
+     */
+    @Value("${redis.counter.flush-threshold:1000}")
+    private long counterFlushThreshold;
+
+    /**
+     * 布隆过滤器预计元素个数
+     */
+    @Value("${redis.bloom.user.expected-insertions:1000000}")
+    private long bloomExpectedInsertions;
+
+    /**
+     * 布隆过滤器期望误判率
+     */
+    @Value("${redis.bloom.user.fpp:0.01}")
+    private double bloomFpp;
+
+    @Bean
+    @Override
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, RedisSerializer<Object> redisSerializer) {
+        return new StampedeProtectedCacheManager(redisCacheWriter(redisConnectionFactory), redisCacheConfiguration(redisSerializer),
+                new StringRedisTemplate(redisConnectionFactory), lockTimeout, earlyRefreshBeta, hotKeyDetector(hotKeyProperties()));
+    }
+
+    /**
+     * UserCacheService中已存在用户ID的布隆过滤器，用于拦截不存在的ID
+     */
+    @Bean(initMethod = "load")
+    public RedisBloomFilter userIdBloomFilter(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisBloomFilter(redisTemplate, "bloom:user:id", bloomExpectedInsertions, bloomFpp);
+    }
+
+    /**
+     * UserRedisService中已存在用户ID的布隆过滤器，两者的数据来源不同，分开维护
+     */
+    @Bean(initMethod = "load")
+    public RedisBloomFilter redisUserIdBloomFilter(RedisTemplate<String, Object> redisTemplate) {
+        return new RedisBloomFilter(redisTemplate, "bloom:redis-user:id", bloomExpectedInsertions, bloomFpp);
+    }
+
+    @Bean
+    public RedisLockService redisLockService(StringRedisTemplate stringRedisTemplate) {
+        return new RedisLockService(stringRedisTemplate, lockLeaseTime, lockStripes);
+    }
+
+    @Bean
+    public BufferedCounterService bufferedCounterService(StringRedisTemplate stringRedisTemplate) {
+        return new BufferedCounterService(stringRedisTemplate, counterFlushInterval, counterFlushThreshold);
+    }
+
+    /**
+     * 订阅分布式锁的释放通知，唤醒本节点的等待者
+     */
+    @Bean
+    public RedisMessageListenerContainer redisLockListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                    RedisLockService redisLockService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(redisLockService, new ChannelTopic(RedisLockService.RELEASE_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "redis.rate-limit", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(LeasedRateLimiter leasedRateLimiter, RateLimitProperties rateLimitProperties) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(leasedRateLimiter, rateLimitProperties));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -1,12 +1,15 @@
 package cloud.catfish.redis.controller;
 
+import cloud.catfish.common.util.RedisScanUtil;
 import cloud.catfish.redis.entity.User;
+import cloud.catfish.redis.lock.RedisLockService;
 import cloud.catfish.redis.service.RedisAdvancedService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
@@ -22,6 +25,8 @@ public class RedisAdvancedController {
     
     private final RedisAdvancedService redisAdvancedService;
     
+    private final RedisLockService redisLockService;
+    
     /**
      * 分布式锁演示
      * 
@@ -33,23 +38,21 @@ public class RedisAdvancedController {
         Map<String, Object> result = new HashMap<>();
         try {
             String lockKey = "lock:" + request.get("resource");
-            String lockValue = UUID.randomUUID().toString();
-            long expireTime = 30; // 30秒过期
+            long waitSeconds = request.get("waitSeconds") != null ? Long.parseLong(request.get("waitSeconds").toString()) : 0;
             
-            boolean acquired = redisAdvancedService.acquireLock(lockKey, lockValue, expireTime);
+            boolean acquired = redisLockService.tryLock(lockKey, Duration.ofSeconds(waitSeconds));
             
             if (acquired) {
                 try {
-                    // 模拟业务处理
+                    // 模拟业务处理，持有期间由看门狗续期
                     Thread.sleep(1000);
                     
                     result.put("success", true);
                     result.put("message", "获取锁成功，业务处理完成");
                     result.put("lockKey", lockKey);
-                    result.put("lockValue", lockValue);
                 } finally {
                     // 释放锁
-                    redisAdvancedService.releaseLock(lockKey, lockValue);
+                    redisLockService.unlock(lockKey);
                 }
             } else {
                 result.put("success", false);
@@ -248,21 +251,27 @@ public class RedisAdvancedController {
     
     /**
      * Key管理演示 - 模糊查询
+     * 基于SCAN分页，返回的cursor为空时遍历结束
      * 
      * @param pattern 匹配模式
+     * @param cursor 上一页返回的cursor
+     * @param size 每页数量
      * @return 查询结果
      */
     @GetMapping("/keys")
-    public ResponseEntity<Map<String, Object>> searchKeys(@RequestParam String pattern) {
+    public ResponseEntity<Map<String, Object>> searchKeys(@RequestParam String pattern,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "100") Integer size) {
         Map<String, Object> result = new HashMap<>();
         try {
-            Set<String> keys = redisAdvancedService.getKeysByPattern(pattern);
+            RedisScanUtil.ScanPage page = redisAdvancedService.scanKeysByPattern(pattern, cursor, size);
             
             result.put("success", true);
             result.put("message", "模糊查询完成");
             result.put("pattern", pattern);
-            result.put("keys", keys);
-            result.put("count", keys.size());
+            result.put("keys", page.getKeys());
+            result.put("count", page.getKeys().size());
+            result.put("cursor", page.getCursor());
             
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -112,6 +112,32 @@ public class UserController {
         }
     }
     
+    /**
+     * 分页获取用户 - 基于ID索引只读取当前页
+     * 
+     * @param pageNum 页码
+     * @param pageSize 每页数量
+     * @return 用户列表
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getUsers(@RequestParam(defaultValue = "1") Integer pageNum,
+                                                        @RequestParam(defaultValue = "10") Integer pageSize) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            List<User> users = userCacheService.getUsers(pageNum, pageSize);
+            result.put("success", true);
+            result.put("message", "分页获取用户成功");
+            result.put("data", users);
+            result.put("total", userCacheService.getUserCount());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("message", "分页获取用户失败: " + e.getMessage());
+            log.error("分页获取用户失败", e);
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+    
     /**
      * 更新用户 - 自动更新缓存
      * 
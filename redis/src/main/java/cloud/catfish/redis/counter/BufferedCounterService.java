@@ -0,0 +1,314 @@
+package cloud.catfish.redis.counter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地聚合的计数器
+ * 增量先累加到每个key的LongAdder中，每隔flushInterval或累计flushThreshold次递增后，
+ * 在一个pipeline中把所有key的增量INCRBY到Redis，新建的key再批量设置过期时间。
+ * Redis中的值最多落后一个flushInterval（加一次刷新耗时），{@link #get(String)}会合并本地未刷新的增量，
+ * {@link #increment(String, long, long)}返回本地估算值，只在key首次使用时读取一次Redis中已有的值。
+ * 刷新失败的增量保留到下次刷新，pipeline部分执行后失败时可能重复计数。应用关闭时会刷新一次。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+public class BufferedCounterService implements DisposableBean {
+
+    // 连续多少次刷新没有增量的key从本地移除
+    private static final int MAX_IDLE_FLUSHES = 3;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long flushThreshold;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    // 已从pending中移除的条目，下次刷新时再检查一次，收集移除前后并发写入的增量
+    private final Map<String, List<Pending>> retired = new ConcurrentHashMap<>();
+    private final LongAdder increments = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * @param stringRedisTemplate 计数器的值是纯数字，使用字符串序列化
+     * @param flushInterval 定时刷新间隔
+     * @param flushThreshold 累计递增多少次后提前刷新
+     */
+    public BufferedCounterService(StringRedisTemplate stringRedisTemplate, Duration flushInterval, long flushThreshold) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.flushThreshold = flushThreshold;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(flushInterval.toMillis(), 1);
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 递增计数器，只修改本地增量
+     *
+     * @param key 计数器key
+     * @param delta 增量
+     * @param expireSeconds key首次创建时设置的过期时间（秒），小于等于0表示不过期
+     * @return 本地估算的计数，为最近一次刷新后Redis中的值加上本地未刷新的增量。
+     *         key在本节点首次使用时读取一次Redis中的值作为初始值，其他节点的增量在下次刷新后才计入
+     */
+    public long increment(String key, long delta, long expireSeconds) {
+        Pending local = pending.get(key);
+        if (local == null) {
+            // 不在computeIfAbsent中访问Redis，并发首次使用时各读一次，只保留先放入的条目
+            Pending created = new Pending(expireSeconds, initialValue(key));
+            local = pending.putIfAbsent(key, created);
+            if (local == null) {
+                local = created;
+            }
+        }
+        local.adder.add(delta);
+        increments.increment();
+        if (increments.sum() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+        return local.estimate();
+    }
+
+    /**
+     * 读取计数器，Redis中的值加上本地未刷新的增量
+     *
+     * @param key 计数器key
+     * @return 计数
+     */
+    public long get(String key) {
+        String value = stringRedisTemplate.opsForValue().get(key);
+        long count = value != null ? Long.parseLong(value) : 0;
+        Pending local = pending.get(key);
+        if (local != null) {
+            count += local.unflushed();
+        }
+        for (Pending draining : retired.getOrDefault(key, List.of())) {
+            count += draining.unflushed();
+        }
+        return count;
+    }
+
+    /**
+     * 把本地增量刷新到Redis，同一个key在retired和pending中的增量合并为一次INCRBY
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        increments.reset();
+        Map<String, Batch> batches = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Pending>> entry : retired.entrySet()) {
+            for (Pending local : entry.getValue()) {
+                collect(entry.getKey(), local, batches);
+            }
+        }
+        List<Map.Entry<String, Pending>> idle = new ArrayList<>();
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            if (!collect(entry.getKey(), entry.getValue(), batches) && ++entry.getValue().idleFlushes >= MAX_IDLE_FLUSHES) {
+                idle.add(entry);
+            }
+        }
+        List<String> keys = new ArrayList<>(batches.keySet());
+        List<Object> results;
+        try {
+            results = keys.isEmpty() ? List.of() : incrBy(keys, batches);
+            // 刷新成功后丢弃上次移入retired的条目
+            retired.clear();
+        } catch (RuntimeException e) {
+            // 增量退回，下次刷新时重试
+            batches.values().forEach(Batch::rollback);
+            throw e;
+        } finally {
+            for (Map.Entry<String, Pending> entry : idle) {
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    retired.computeIfAbsent(entry.getKey(), k -> new CopyOnWriteArrayList<>()).add(entry.getValue());
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            synced(keys, batches, results);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("关闭时刷新计数器失败", e);
+        }
+    }
+
+    /**
+     * 新建本地条目时的初始估算值，Redis中的值加上已移出但尚未刷新的增量，读取失败时为0
+     */
+    private long initialValue(String key) {
+        long value = 0;
+        try {
+            String current = stringRedisTemplate.opsForValue().get(key);
+            value = current != null ? Long.parseLong(current) : 0;
+        } catch (RuntimeException e) {
+            log.warn("读取计数器初始值失败，本地估算从0开始: {}", key, e);
+        }
+        for (Pending draining : retired.getOrDefault(key, List.of())) {
+            value += draining.unflushed();
+        }
+        return value;
+    }
+
+    /**
+     * 收集一个本地条目的增量，没有增量时返回false
+     */
+    private static boolean collect(String key, Pending local, Map<String, Batch> batches) {
+        long delta = local.unflushed();
+        if (delta == 0) {
+            return false;
+        }
+        local.flushed(delta);
+        local.idleFlushes = 0;
+        batches.computeIfAbsent(key, k -> new Batch()).add(local, delta);
+        return true;
+    }
+
+    private List<Object> incrBy(List<String> keys, Map<String, Batch> batches) {
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.stringCommands().incrBy(rawKey(key), batches.get(key).delta);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 按INCRBY的结果更新本地估算值，为新建的key设置过期时间
+     */
+    private void synced(List<String> keys, Map<String, Batch> batches, List<Object> results) {
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (!(results.get(i) instanceof Long value)) {
+                continue;
+            }
+            String key = keys.get(i);
+            Batch batch = batches.get(key);
+            // INCRBY的结果等于增量说明key是这次新建的
+            if (value == batch.delta && batch.expireSeconds > 0) {
+                created.add(key);
+            }
+            Pending local = pending.get(key);
+            if (local != null) {
+                local.synced(value);
+            }
+        }
+        if (!created.isEmpty()) {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : created) {
+                    connection.keyCommands().expire(rawKey(key), batches.get(key).expireSeconds);
+                }
+                return null;
+            });
+        }
+        log.debug("计数器刷新完成，key数量: {}", keys.size());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("计数器刷新失败，增量保留到下次刷新", e);
+        }
+    }
+
+    private static byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class Pending {
+        private final LongAdder adder = new LongAdder();
+        private final long expireSeconds;
+        // 只在刷新时替换，两个值一起读取
+        private volatile Flushed flushed;
+        private int idleFlushes;
+
+        Pending(long expireSeconds, long initialValue) {
+            this.expireSeconds = expireSeconds;
+            this.flushed = new Flushed(initialValue, 0);
+        }
+
+        long unflushed() {
+            return adder.sum() - flushed.delta;
+        }
+
+        long estimate() {
+            Flushed current = flushed;
+            return current.value + adder.sum() - current.delta;
+        }
+
+        void flushed(long delta) {
+            Flushed current = flushed;
+            flushed = new Flushed(current.value + delta, current.delta + delta);
+        }
+
+        void synced(long value) {
+            flushed = new Flushed(value, flushed.delta);
+        }
+    }
+
+    /**
+     * 已刷新的增量之和，以及刷新后Redis中的值
+     */
+    private static class Flushed {
+        private final long value;
+        private final long delta;
+
+        Flushed(long value, long delta) {
+            this.value = value;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * 一次刷新中同一个key的合并增量
+     */
+    private static class Batch {
+        private final List<Pending> entries = new ArrayList<>();
+        private final List<Long> deltas = new ArrayList<>();
+        private long delta;
+        private long expireSeconds;
+
+        void add(Pending local, long delta) {
+            entries.add(local);
+            deltas.add(delta);
+            this.delta += delta;
+            this.expireSeconds = Math.max(expireSeconds, local.expireSeconds);
+        }
+
+        void rollback() {
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).flushed(-deltas.get(i));
+            }
+        }
+    }
+}
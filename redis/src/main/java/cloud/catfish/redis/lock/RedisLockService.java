@@ -0,0 +1,256 @@
+package cloud.catfish.redis.lock;
+
+import cn.hutool.core.util.IdUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 可重入分布式锁
+ * 锁在Redis中是一个Hash，field为持有者（节点ID:线程ID），value为重入次数。
+ * 持有期间由看门狗按租期的1/3续期，节点宕机后锁在租期到达时自动释放。
+ * 锁完全释放时发布通知，等待者收到通知后立即重试，不再轮询。
+ * 同一节点上的竞争者先在本地分段锁上排队，只有拿到本地锁的线程才访问Redis。
+ * 分段按锁名称哈希，不同名称的锁可能落在同一分段上互相等待，分段数应远大于同时持有的锁数量。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+public class RedisLockService implements MessageListener, DisposableBean {
+
+    /**
+     * 锁释放通知频道，消息内容为锁的key
+     */
+    public static final String RELEASE_CHANNEL = "lock:release";
+
+    // 加锁，未被持有或由自己持有时重入次数加1，返回-1；否则返回锁的剩余毫秒数
+    private static final DefaultRedisScript<Long> LOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('exists', KEYS[1]) == 0 or redis.call('hexists', KEYS[1], ARGV[2]) == 1 then " +
+        "    redis.call('hincrby', KEYS[1], ARGV[2], 1) " +
+        "    redis.call('pexpire', KEYS[1], ARGV[1]) " +
+        "    return -1 " +
+        "end " +
+        "local ttl = redis.call('pttl', KEYS[1]) " +
+        "if ttl < 1 then " +
+        "    ttl = 1 " +
+        "end " +
+        "return ttl", Long.class);
+
+    // 解锁，不是持有者返回-1，仍有重入返回0，完全释放时发布通知并返回1
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then " +
+        "    return -1 " +
+        "end " +
+        "if redis.call('hincrby', KEYS[1], ARGV[1], -1) > 0 then " +
+        "    redis.call('pexpire', KEYS[1], ARGV[2]) " +
+        "    return 0 " +
+        "end " +
+        "redis.call('del', KEYS[1]) " +
+        "redis.call('publish', ARGV[3], KEYS[1]) " +
+        "return 1", Long.class);
+
+    // 续期，仍是持有者时返回1
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('hexists', KEYS[1], ARGV[1]) == 1 then " +
+        "    redis.call('pexpire', KEYS[1], ARGV[2]) " +
+        "    return 1 " +
+        "end " +
+        "return 0", Long.class);
+
+    private final String nodeId = IdUtil.fastSimpleUUID();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration leaseTime;
+    private final ReentrantLock[] stripes;
+    private final ScheduledExecutorService watchdog;
+
+    // 本节点正在等待的锁，收到释放通知时唤醒
+    private final ConcurrentHashMap<String, Semaphore> waiters = new ConcurrentHashMap<>();
+    // 本节点持有的锁的续期任务
+    private final ConcurrentHashMap<String, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+    /**
+     * @param stringRedisTemplate 执行脚本使用的模板
+     * @param leaseTime 锁的租期，持有期间由看门狗续期
+     * @param stripeCount 本地分段锁数量
+     */
+    public RedisLockService(StringRedisTemplate stringRedisTemplate, Duration leaseTime, int stripeCount) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leaseTime = leaseTime;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-lock-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 尝试加锁，同一线程可以重入
+     *
+     * @param lockKey 锁的key
+     * @param waitTime 最长等待时间
+     * @return 是否加锁成功
+     */
+    public boolean tryLock(String lockKey, Duration waitTime) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTime.toNanos();
+        ReentrantLock stripe = stripe(lockKey);
+        if (!stripe.tryLock(waitTime.toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        boolean acquired = false;
+        try {
+            acquired = acquire(lockKey, deadline);
+            return acquired;
+        } finally {
+            if (!acquired) {
+                stripe.unlock();
+            }
+        }
+    }
+
+    /**
+     * 解锁，重入次数归零时释放Redis中的锁并停止续期
+     *
+     * @param lockKey 锁的key
+     */
+    public void unlock(String lockKey) {
+        ReentrantLock stripe = stripe(lockKey);
+        if (!stripe.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException("当前线程未持有锁: " + lockKey);
+        }
+        try {
+            Long result = stringRedisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey),
+                    owner(), String.valueOf(leaseTime.toMillis()), RELEASE_CHANNEL);
+            if (result == null || result != 0) {
+                cancelRenewal(lockKey);
+            }
+            if (result == null || result < 0) {
+                log.warn("释放分布式锁时已不是持有者，可能已过期: {}", lockKey);
+            }
+        } catch (RuntimeException e) {
+            // 停止续期，Redis中的锁在租期到达后自动释放
+            cancelRenewal(lockKey);
+            throw e;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * 在锁内执行操作
+     *
+     * @param lockKey 锁的key
+     * @param waitTime 最长等待时间
+     * @param action 要执行的操作
+     * @return 操作结果，未获取到锁时返回null
+     */
+    public <T> T executeWithLock(String lockKey, Duration waitTime, Supplier<T> action) throws InterruptedException {
+        if (!tryLock(lockKey, waitTime)) {
+            return null;
+        }
+        try {
+            return action.get();
+        } finally {
+            unlock(lockKey);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Semaphore semaphore = waiters.get(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    private boolean acquire(String lockKey, long deadline) throws InterruptedException {
+        Semaphore semaphore = null;
+        try {
+            while (true) {
+                Long ttl = stringRedisTemplate.execute(LOCK_SCRIPT, Collections.singletonList(lockKey),
+                        String.valueOf(leaseTime.toMillis()), owner());
+                if (ttl != null && ttl < 0) {
+                    scheduleRenewal(lockKey);
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                if (semaphore == null) {
+                    // 先订阅等待再重试一次，避免错过两次尝试之间的释放通知
+                    semaphore = waiters.computeIfAbsent(lockKey, k -> new Semaphore(0));
+                    continue;
+                }
+                long wait = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(ttl != null ? ttl : 1));
+                semaphore.tryAcquire(wait, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            if (semaphore != null) {
+                waiters.remove(lockKey, semaphore);
+            }
+        }
+    }
+
+    private void scheduleRenewal(String lockKey) {
+        if (renewals.containsKey(lockKey)) {
+            return;
+        }
+        String owner = owner();
+        long period = Math.max(leaseTime.toMillis() / 3, 1);
+        renewals.put(lockKey, watchdog.scheduleAtFixedRate(() -> renew(lockKey, owner), period, period, TimeUnit.MILLISECONDS));
+    }
+
+    private void renew(String lockKey, String owner) {
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(lockKey),
+                    owner, String.valueOf(leaseTime.toMillis()));
+            if (renewed == null || renewed == 0) {
+                log.warn("分布式锁续期失败，锁已丢失: {}", lockKey);
+                cancelRenewal(lockKey);
+            }
+        } catch (Exception e) {
+            // 下一个周期继续尝试，租期内恢复则不会丢锁
+            log.warn("分布式锁续期异常: {}", lockKey, e);
+        }
+    }
+
+    private void cancelRenewal(String lockKey) {
+        ScheduledFuture<?> renewal = renewals.remove(lockKey);
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+    }
+
+    private ReentrantLock stripe(String lockKey) {
+        return stripes[Math.floorMod(lockKey.hashCode(), stripes.length)];
+    }
+
+    private String owner() {
+        return nodeId + ":" + Thread.currentThread().getId();
+    }
+}
@@ -0,0 +1,89 @@
+package cloud.catfish.redis.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 带本地预领配额的限流器
+ * 节点一次从Redis领取策略的leaseSize个许可，之后的请求在本地扣减，用完或过期后再去Redis领取。
+ * 预领的许可已经计入Redis中的计数，所有节点合计不会超过限额；
+ * 过期未用完的许可作废，代价是限额可能略微用不满。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class LeasedRateLimiter {
+
+    // 本地配额条目超过该数量时清理已过期的条目
+    private static final int MAX_LEASES = 10000;
+
+    private final RedisRateLimiter redisRateLimiter;
+    private final RateLimitProperties properties;
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * 按策略申请一个许可
+     *
+     * @param key 限流key
+     * @param policy 限流策略
+     * @return 是否获得许可
+     */
+    public boolean tryAcquire(String key, RateLimitPolicy policy) {
+        if (policy.getLeaseSize() <= 1) {
+            return redisRateLimiter.tryAcquire(key, policy.getAlgorithm(), policy.getLimit(), policy.getWindow());
+        }
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        if (lease.tryTake()) {
+            return true;
+        }
+        synchronized (lease) {
+            // 其他线程可能已经领取了新的配额
+            if (lease.tryTake()) {
+                return true;
+            }
+            long granted = redisRateLimiter.tryAcquire(key, policy.getAlgorithm(), policy.getLimit(),
+                    policy.getWindow(), Math.min(policy.getLeaseSize(), policy.getLimit()));
+            if (granted <= 0) {
+                return false;
+            }
+            Duration ttl = properties.getLeaseTtl().compareTo(policy.getWindow()) < 0 ? properties.getLeaseTtl() : policy.getWindow();
+            lease.reset(granted - 1, System.currentTimeMillis() + ttl.toMillis());
+        }
+        if (leases.size() > MAX_LEASES) {
+            long now = System.currentTimeMillis();
+            leases.values().removeIf(l -> l.expireAt < now);
+        }
+        return true;
+    }
+
+    private static class Lease {
+        private final AtomicLong remaining = new AtomicLong();
+        private volatile long expireAt;
+
+        boolean tryTake() {
+            if (expireAt < System.currentTimeMillis()) {
+                return false;
+            }
+            long current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        void reset(long permits, long expireAt) {
+            remaining.set(permits);
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package cloud.catfish.redis.ratelimit;
+
+/**
+ * 限流算法
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+public enum RateLimitAlgorithm {
+    /**
+     * 滑动日志，ZSET记录窗口内每次请求，精确但内存随limit增长
+     */
+    SLIDING_LOG,
+    /**
+     * 滑动窗口计数，按上一窗口剩余时间加权估算，每个key只占一个Hash
+     */
+    SLIDING_WINDOW,
+    /**
+     * 令牌桶，window内补满limit个令牌，允许不超过limit的突发
+     */
+    TOKEN_BUCKET
+}
@@ -0,0 +1,76 @@
+package cloud.catfish.redis.ratelimit;
+
+import cloud.catfish.common.api.CommonResult;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 按路由策略限流的过滤器
+ * 请求路径按顺序匹配策略，未匹配的请求不限流；被限流时返回429。
+ * Redis不可用时放行请求，避免限流组件影响业务可用性。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    private final LeasedRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(LeasedRateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitPolicy policy = match(request.getRequestURI().substring(request.getContextPath().length()));
+        if (policy != null && !tryAcquire(request, policy)) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Cache-Control", "no-cache");
+            response.setCharacterEncoding("UTF-8");
+            response.setContentType("application/json");
+            response.getWriter().println(JSONUtil.parse(CommonResult.failed("请求过于频繁，请稍后再试")));
+            response.getWriter().flush();
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitPolicy match(String path) {
+        for (RateLimitPolicy policy : properties.getPolicies()) {
+            if (pathMatcher.match(policy.getPattern(), path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryAcquire(HttpServletRequest request, RateLimitPolicy policy) {
+        String caller = StrUtil.isNotEmpty(policy.getKeyHeader()) ? request.getHeader(policy.getKeyHeader()) : null;
+        if (StrUtil.isEmpty(caller)) {
+            caller = request.getRemoteAddr();
+        }
+        try {
+            return rateLimiter.tryAcquire(KEY_PREFIX + policy.getName() + ":" + caller, policy);
+        } catch (Exception e) {
+            log.warn("限流检查异常，放行请求: {}", policy.getName(), e);
+            return true;
+        }
+    }
+}
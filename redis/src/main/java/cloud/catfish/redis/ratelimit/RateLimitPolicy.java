@@ -0,0 +1,54 @@
+package cloud.catfish.redis.ratelimit;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 限流策略
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Data
+public class RateLimitPolicy {
+
+    /**
+     * 策略名称，作为限流key的一部分，为空时使用pattern
+     */
+    private String name;
+
+    /**
+     * 匹配的请求路径，Ant风格，不含context-path
+     */
+    private String pattern;
+
+    /**
+     * 限流算法
+     */
+    private RateLimitAlgorithm algorithm = RateLimitAlgorithm.SLIDING_WINDOW;
+
+    /**
+     * 窗口内允许的请求数，令牌桶为桶容量
+     */
+    private long limit = 100;
+
+    /**
+     * 时间窗口，令牌桶为补满容量所需时间
+     */
+    private Duration window = Duration.ofSeconds(1);
+
+    /**
+     * 每次从Redis预领的配额，小于等于1表示每个请求都访问Redis
+     */
+    private int leaseSize = 0;
+
+    /**
+     * 区分调用方的请求头，为空时按客户端IP限流
+     */
+    private String keyHeader;
+
+    public String getName() {
+        return name != null ? name : pattern;
+    }
+}
@@ -0,0 +1,36 @@
+package cloud.catfish.redis.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置属性
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流过滤器
+     */
+    private boolean enabled = false;
+
+    /**
+     * 本地预领配额的有效期，过期未用完的配额作废，不会超过策略的时间窗口
+     */
+    private Duration leaseTtl = Duration.ofMillis(500);
+
+    /**
+     * 路由策略，按顺序匹配，使用第一个匹配的策略
+     */
+    private List<RateLimitPolicy> policies = new ArrayList<>();
+}
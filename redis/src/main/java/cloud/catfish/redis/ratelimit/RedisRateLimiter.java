@@ -0,0 +1,120 @@
+package cloud.catfish.redis.ratelimit;
+
+import cn.hutool.core.util.IdUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * 基于Lua脚本的分布式限流器
+ * 脚本的SHA1在加载时计算一次，执行时使用EVALSHA，服务端没有缓存脚本时自动回退到EVAL。
+ * 脚本使用Redis的TIME作为时钟，不依赖各节点的本地时间。
+ * 每次可以申请多个许可，返回实际获得的数量，供本地预领配额使用。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisRateLimiter {
+
+    private static final String NOW =
+        "local t = redis.call('time') " +
+        "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) ";
+
+    // 滑动日志，ARGV依次为limit、窗口毫秒数、申请数量、成员前缀
+    private static final DefaultRedisScript<Long> SLIDING_LOG_SCRIPT = new DefaultRedisScript<>(NOW +
+        "local limit = tonumber(ARGV[1]) " +
+        "local window = tonumber(ARGV[2]) " +
+        "redis.call('zremrangebyscore', KEYS[1], '-inf', now - window) " +
+        "local granted = math.min(tonumber(ARGV[3]), limit - redis.call('zcard', KEYS[1])) " +
+        "if granted <= 0 then " +
+        "    return 0 " +
+        "end " +
+        "for i = 1, granted do " +
+        "    redis.call('zadd', KEYS[1], now, ARGV[4] .. ':' .. i) " +
+        "end " +
+        "redis.call('pexpire', KEYS[1], window) " +
+        "return granted", Long.class);
+
+    // 滑动窗口计数，Hash中w为当前窗口序号，c为当前窗口计数，p为上一窗口计数
+    private static final DefaultRedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(NOW +
+        "local limit = tonumber(ARGV[1]) " +
+        "local window = tonumber(ARGV[2]) " +
+        "local index = math.floor(now / window) " +
+        "local state = redis.call('hmget', KEYS[1], 'w', 'c', 'p') " +
+        "local w = tonumber(state[1]) or index " +
+        "local c = tonumber(state[2]) or 0 " +
+        "local p = tonumber(state[3]) or 0 " +
+        "if w < index - 1 then " +
+        "    p = 0 " +
+        "    c = 0 " +
+        "elseif w == index - 1 then " +
+        "    p = c " +
+        "    c = 0 " +
+        "end " +
+        "local weight = 1 - (now - index * window) / window " +
+        "local granted = math.min(tonumber(ARGV[3]), math.floor(limit - p * weight - c)) " +
+        "if granted < 0 then " +
+        "    granted = 0 " +
+        "end " +
+        "redis.call('hset', KEYS[1], 'w', index, 'c', c + granted, 'p', p) " +
+        "redis.call('pexpire', KEYS[1], window * 2) " +
+        "return granted", Long.class);
+
+    // 令牌桶，Hash中t为剩余令牌，ts为上次补充时间，window内补满limit个令牌
+    private static final DefaultRedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(NOW +
+        "local capacity = tonumber(ARGV[1]) " +
+        "local window = tonumber(ARGV[2]) " +
+        "local state = redis.call('hmget', KEYS[1], 't', 'ts') " +
+        "local tokens = tonumber(state[1]) or capacity " +
+        "local ts = tonumber(state[2]) or now " +
+        "tokens = math.min(capacity, tokens + math.max(0, now - ts) * capacity / window) " +
+        "local granted = math.min(tonumber(ARGV[3]), math.floor(tokens)) " +
+        "redis.call('hset', KEYS[1], 't', tokens - granted, 'ts', now) " +
+        "redis.call('pexpire', KEYS[1], window) " +
+        "return granted", Long.class);
+
+    // 脚本参数都是数字和字符串，使用字符串序列化
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 申请一个许可
+     *
+     * @param key 限流key
+     * @param algorithm 限流算法
+     * @param limit 窗口内允许的请求数
+     * @param window 时间窗口
+     * @return 是否获得许可
+     */
+    public boolean tryAcquire(String key, RateLimitAlgorithm algorithm, long limit, Duration window) {
+        return tryAcquire(key, algorithm, limit, window, 1) > 0;
+    }
+
+    /**
+     * 申请多个许可
+     *
+     * @param key 限流key
+     * @param algorithm 限流算法
+     * @param limit 窗口内允许的请求数
+     * @param window 时间窗口
+     * @param permits 申请的数量
+     * @return 实际获得的数量，不超过permits
+     */
+    public long tryAcquire(String key, RateLimitAlgorithm algorithm, long limit, Duration window, long permits) {
+        String windowMillis = String.valueOf(Math.max(window.toMillis(), 1));
+        Long granted = switch (algorithm) {
+            case SLIDING_LOG -> stringRedisTemplate.execute(SLIDING_LOG_SCRIPT, Collections.singletonList(key),
+                    String.valueOf(limit), windowMillis, String.valueOf(permits), IdUtil.fastSimpleUUID());
+            case SLIDING_WINDOW -> stringRedisTemplate.execute(SLIDING_WINDOW_SCRIPT, Collections.singletonList(key),
+                    String.valueOf(limit), windowMillis, String.valueOf(permits));
+            case TOKEN_BUCKET -> stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, Collections.singletonList(key),
+                    String.valueOf(limit), windowMillis, String.valueOf(permits));
+        };
+        return granted != null ? granted : 0;
+    }
+}
@@ -1,10 +1,13 @@
 package cloud.catfish.redis.service;
 
+import cloud.catfish.common.util.RedisScanUtil;
+import cloud.catfish.redis.counter.BufferedCounterService;
 import cloud.catfish.redis.entity.User;
+import cloud.catfish.redis.ratelimit.RateLimitAlgorithm;
+import cloud.catfish.redis.ratelimit.RedisRateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -14,7 +17,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * Redis高级操作服务类
  * 展示RedisTemplate的各种高级用法，包括：
- * 1. 分布式锁
+ * 1. 分布式锁（见RedisLockService）
  * 2. 计数器和限流
  * 3. 发布订阅
  * 4. 批量操作
@@ -28,97 +31,27 @@ public class RedisAdvancedService {
     
     private final RedisTemplate<String, Object> redisTemplate;
     
-    // Lua脚本：分布式锁释放
-    private static final String UNLOCK_SCRIPT = 
-        "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-        "    return redis.call('del', KEYS[1]) " +
-        "else " +
-        "    return 0 " +
-        "end";
+    private final UserBulkService userBulkService;
     
-    // Lua脚本：限流器
-    private static final String RATE_LIMIT_SCRIPT = 
-        "local key = KEYS[1] " +
-        "local limit = tonumber(ARGV[1]) " +
-        "local window = tonumber(ARGV[2]) " +
-        "local current = redis.call('incr', key) " +
-        "if current == 1 then " +
-        "    redis.call('expire', key, window) " +
-        "end " +
-        "return current";
+    private final RedisRateLimiter redisRateLimiter;
     
-    /**
-     * 分布式锁 - 获取锁
-     * 
-     * @param lockKey 锁的key
-     * @param lockValue 锁的值（通常是UUID）
-     * @param expireTime 过期时间（秒）
-     * @return 是否获取成功
-     */
-    public boolean acquireLock(String lockKey, String lockValue, long expireTime) {
-        try {
-            // 使用SET NX EX命令实现分布式锁
-            Boolean result = redisTemplate.opsForValue()
-                .setIfAbsent(lockKey, lockValue, Duration.ofSeconds(expireTime));
-            
-            if (Boolean.TRUE.equals(result)) {
-                log.info("获取分布式锁成功: {}", lockKey);
-                return true;
-            } else {
-                log.warn("获取分布式锁失败: {}", lockKey);
-                return false;
-            }
-        } catch (Exception e) {
-            log.error("获取分布式锁异常: {}", lockKey, e);
-            return false;
-        }
-    }
+    private final BufferedCounterService bufferedCounterService;
     
-    /**
-     * 分布式锁 - 释放锁
-     * 
-     * @param lockKey 锁的key
-     * @param lockValue 锁的值
-     * @return 是否释放成功
-     */
-    public boolean releaseLock(String lockKey, String lockValue) {
-        try {
-            DefaultRedisScript<Long> script = new DefaultRedisScript<>();
-            script.setScriptText(UNLOCK_SCRIPT);
-            script.setResultType(Long.class);
-            
-            Long result = redisTemplate.execute(script, 
-                Collections.singletonList(lockKey), lockValue);
-            
-            if (result != null && result == 1L) {
-                log.info("释放分布式锁成功: {}", lockKey);
-                return true;
-            } else {
-                log.warn("释放分布式锁失败: {}", lockKey);
-                return false;
-            }
-        } catch (Exception e) {
-            log.error("释放分布式锁异常: {}", lockKey, e);
-            return false;
-        }
-    }
+    // 模糊查询最多返回的key数量
+    private static final int MAX_PATTERN_KEYS = 1000;
     
     /**
      * 计数器 - 原子递增
+     * 增量先在本地聚合，批量刷新到Redis，返回本地估算值，不访问Redis
      * 
      * @param counterKey 计数器key
      * @param delta 增量
      * @param expireSeconds 过期时间（秒）
-     * @return 递增后的值
+     * @return 递增后的估算值，最多落后其他节点一个刷新间隔的增量
      */
     public Long incrementCounter(String counterKey, long delta, long expireSeconds) {
         try {
-            Long result = redisTemplate.opsForValue().increment(counterKey, delta);
-            
-            // 设置过期时间（仅在第一次创建时）
-            if (result != null && result == delta) {
-                redisTemplate.expire(counterKey, Duration.ofSeconds(expireSeconds));
-            }
+            long result = bufferedCounterService.increment(counterKey, delta, expireSeconds);
             
             log.info("计数器递增: {} = {}", counterKey, result);
             return result;
@@ -130,6 +63,7 @@ public class RedisAdvancedService {
     
     /**
      * 限流器 - 滑动窗口限流
+     * 按上一窗口剩余时间加权计数，避免固定窗口在边界处放过两倍的请求
      * 
      * @param rateLimitKey 限流key
      * @param limit 限制次数
@@ -138,17 +72,10 @@ public class RedisAdvancedService {
      */
     public boolean isAllowed(String rateLimitKey, int limit, int windowSeconds) {
         try {
-            DefaultRedisScript<Long> script = new DefaultRedisScript<>();
-            script.setScriptText(RATE_LIMIT_SCRIPT);
-            script.setResultType(Long.class);
-            
-            Long current = redisTemplate.execute(script,
-                Collections.singletonList(rateLimitKey),
-                String.valueOf(limit), String.valueOf(windowSeconds));
-            
-            boolean allowed = current != null && current <= limit;
-            log.info("限流检查: {} 当前次数: {} 限制: {} 结果: {}", 
-                rateLimitKey, current, limit, allowed ? "通过" : "拒绝");
+            boolean allowed = redisRateLimiter.tryAcquire(rateLimitKey, RateLimitAlgorithm.SLIDING_WINDOW,
+                limit, Duration.ofSeconds(windowSeconds));
+            log.info("限流检查: {} 限制: {} 结果: {}", 
+                rateLimitKey, limit, allowed ? "通过" : "拒绝");
             
             return allowed;
         } catch (Exception e) {
@@ -166,13 +93,11 @@ public class RedisAdvancedService {
     public void batchSetUsers(List<User> users, long expireSeconds) {
         try {
             // 使用Pipeline提高批量操作性能
-            redisTemplate.executePipelined((connection) -> {
-                for (User user : users) {
-                    String key = "user:" + user.getId();
-                    redisTemplate.opsForValue().set(key, user, Duration.ofSeconds(expireSeconds));
-                }
-                return null;
-            });
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (User user : users) {
+                values.put("user:" + user.getId(), user);
+            }
+            userBulkService.setAll(values, expireSeconds);
             
             log.info("批量设置用户完成，数量: {}", users.size());
         } catch (Exception e) {
@@ -192,14 +117,12 @@ public class RedisAdvancedService {
                 .map(id -> "user:" + id)
                 .toList();
             
-            List<Object> results = redisTemplate.opsForValue().multiGet(keys);
+            List<Object> results = userBulkService.getAll(keys);
             List<User> users = new ArrayList<>();
             
-            if (results != null) {
-                for (Object result : results) {
-                    if (result instanceof User) {
-                        users.add((User) result);
-                    }
+            for (Object result : results) {
+                if (result instanceof User) {
+                    users.add((User) result);
                 }
             }
             
@@ -262,21 +185,37 @@ public class RedisAdvancedService {
     
     /**
      * 模糊查询key
+     * 使用SCAN遍历，最多返回MAX_PATTERN_KEYS个
      * 
      * @param pattern 匹配模式
      * @return key列表
      */
     public Set<String> getKeysByPattern(String pattern) {
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            log.info("模糊查询key: {} 找到: {}个", pattern, keys != null ? keys.size() : 0);
-            return keys != null ? keys : new HashSet<>();
+            // SCAN可能返回重复的key，用Set去重
+            Set<String> keys = new LinkedHashSet<>(RedisScanUtil.scanKeys(redisTemplate, pattern, MAX_PATTERN_KEYS));
+            log.info("模糊查询key: {} 找到: {}个", pattern, keys.size());
+            return keys;
         } catch (Exception e) {
             log.error("模糊查询key异常: {}", pattern, e);
             return new HashSet<>();
         }
     }
     
+    /**
+     * 分页模糊查询key
+     * 
+     * @param pattern 匹配模式
+     * @param cursor 上一页返回的cursor，首页传null
+     * @param size 每页数量
+     * @return 本页key及下一页cursor
+     */
+    public RedisScanUtil.ScanPage scanKeysByPattern(String pattern, String cursor, int size) {
+        RedisScanUtil.ScanPage page = RedisScanUtil.scanPage(redisTemplate, pattern, cursor, size);
+        log.info("分页模糊查询key: {} 本页: {}个", pattern, page.getKeys().size());
+        return page;
+    }
+    
     /**
      * 检查key是否存在
      * 
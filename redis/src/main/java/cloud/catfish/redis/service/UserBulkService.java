@@ -0,0 +1,104 @@
+package cloud.catfish.redis.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量读写服务
+ * 写入前一次性完成序列化，在pipeline中直接使用连接发送SET EX；
+ * 读取使用MGET，多条MGET放在同一个pipeline中。
+ * 每个pipeline中的命令数有上限，避免占用过多客户端和服务端缓冲区。
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBulkService {
+
+    // 单个pipeline中最多的SET命令数
+    private static final int PIPELINE_DEPTH = 500;
+
+    // 单条MGET最多的key数
+    private static final int MGET_BATCH = 500;
+
+    // 单个pipeline中最多的MGET命令数
+    private static final int MGET_PIPELINE_DEPTH = 20;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 批量写入
+     *
+     * @param values key与值
+     * @param expireSeconds 过期时间（秒），小于等于0表示不过期
+     */
+    @SuppressWarnings("unchecked")
+    public void setAll(Map<String, ?> values, long expireSeconds) {
+        if (values.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        List<byte[][]> entries = new ArrayList<>(values.size());
+        values.forEach((key, value) -> entries.add(new byte[][]{keySerializer.serialize(key), valueSerializer.serialize(value)}));
+        Expiration expiration = expireSeconds > 0 ? Expiration.seconds(expireSeconds) : Expiration.persistent();
+        for (int from = 0; from < entries.size(); from += PIPELINE_DEPTH) {
+            List<byte[][]> chunk = entries.subList(from, Math.min(from + PIPELINE_DEPTH, entries.size()));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[][] entry : chunk) {
+                    connection.stringCommands().set(entry[0], entry[1], expiration, RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+        }
+        log.debug("批量写入完成，数量: {}", entries.size());
+    }
+
+    /**
+     * 批量读取，结果与keys顺序一致，不存在的为null
+     *
+     * @param keys key列表
+     * @return 值列表
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> getAll(List<String> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        if (keys.isEmpty()) {
+            return values;
+        }
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = keySerializer.serialize(keys.get(i));
+        }
+        int keysPerPipeline = MGET_BATCH * MGET_PIPELINE_DEPTH;
+        for (int from = 0; from < rawKeys.length; from += keysPerPipeline) {
+            int start = from;
+            int end = Math.min(from + keysPerPipeline, rawKeys.length);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = start; i < end; i += MGET_BATCH) {
+                    byte[][] batch = new byte[Math.min(MGET_BATCH, end - i)][];
+                    System.arraycopy(rawKeys, i, batch, 0, batch.length);
+                    connection.stringCommands().mGet(batch);
+                }
+                return null;
+            });
+            for (Object result : results) {
+                values.addAll((List<Object>) result);
+            }
+        }
+        return values;
+    }
+}
@@ -1,20 +1,37 @@
 package cloud.catfish.redis.service;
 
+import cloud.catfish.common.redis.CacheWarmUpProgress;
+import cloud.catfish.common.redis.CacheWarmUpService;
+import cloud.catfish.common.util.RedisScanUtil;
+import cloud.catfish.redis.cache.CacheEnvelope;
+import cloud.catfish.redis.cache.RedisBloomFilter;
+import cloud.catfish.redis.cache.StampedeProtectedCache;
 import cloud.catfish.redis.entity.User;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.*;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 用户缓存服务类
  * 展示Spring Cache注解的实际使用场景
  * 这是生产环境中最常用的Redis缓存模式
+ * 按用户名查询、列表和计数走随写入维护的索引，不再使用KEYS扫描
  * 
  * @author catfish
  * @since 1.0.0
@@ -24,19 +41,94 @@ import java.util.concurrent.atomic.AtomicLong;
 @CacheConfig(cacheNames = "user")
 public class UserCacheService {
     
-    // 模拟数据库存储
-    private final ConcurrentHashMap<Long, User> userDatabase = new ConcurrentHashMap<>();
+    // 不存在用户的空值缓存key前缀
+    private static final String MISS_KEY_PREFIX = "user:miss:";
+    
+    // 用户缓存在RedisCache中的key前缀，与cacheNames一致
+    private static final String USER_CACHE_KEY_PREFIX = "user::";
+    
+    // 索引key使用相同的hash tag，集群下位于同一slot，可以在Lua脚本中一起更新
+    private static final String USERNAME_INDEX_KEY = "{user}:index:username";
+    private static final String ID_INDEX_KEY = "{user}:index:ids";
+    private static final String COUNT_KEY = "{user}:index:count";
+    private static final List<String> INDEX_KEYS = List.of(USERNAME_INDEX_KEY, ID_INDEX_KEY, COUNT_KEY);
+    
+    // Lua脚本：保存用户索引，ARGV依次为旧用户名、新用户名、用户ID
+    private static final DefaultRedisScript<Long> SAVE_INDEX_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('zadd', KEYS[2], ARGV[3], ARGV[3]) == 1 then " +
+        "    redis.call('incr', KEYS[3]) " +
+        "end " +
+        "if ARGV[1] ~= '' and ARGV[1] ~= ARGV[2] and redis.call('hget', KEYS[1], ARGV[1]) == ARGV[3] then " +
+        "    redis.call('hdel', KEYS[1], ARGV[1]) " +
+        "end " +
+        "if ARGV[2] ~= '' then " +
+        "    redis.call('hset', KEYS[1], ARGV[2], ARGV[3]) " +
+        "end " +
+        "return 1", Long.class);
+    
+    // Lua脚本：删除用户索引，ARGV依次为用户名、用户ID
+    private static final DefaultRedisScript<Long> REMOVE_INDEX_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('zrem', KEYS[2], ARGV[2]) == 1 then " +
+        "    redis.call('decr', KEYS[3]) " +
+        "end " +
+        "if ARGV[1] ~= '' and redis.call('hget', KEYS[1], ARGV[1]) == ARGV[2] then " +
+        "    redis.call('hdel', KEYS[1], ARGV[1]) " +
+        "end " +
+        "return 1", Long.class);
+    
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    
+    // 索引中保存的是纯字符串，使用字符串序列化
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    
+    @Autowired
+    private RedisBloomFilter userIdBloomFilter;
+    
+    @Autowired
+    private UserBulkService userBulkService;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+    
+    /**
+     * 空值缓存时间（秒），0表示关闭
+     */
+    @Value("${redis.bloom.user.negative-ttl:60}")
+    private long negativeTtl;
+    
+    // 模拟数据库存储，按ID有序，便于按ID分块读取
+    private final ConcurrentSkipListMap<Long, User> userDatabase = new ConcurrentSkipListMap<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
     
     /**
      * 根据ID获取用户信息
-     * @Cacheable: 如果缓存中有数据则直接返回，否则执行方法并缓存结果
+     * 布隆过滤器判断不存在的ID直接返回，不经过缓存；
+     * 其余ID与@Cacheable(sync = true)相同，由防击穿缓存单飞加载，结果为null时不缓存
      * 
      * @param id 用户ID
      * @return 用户信息
      */
-    @Cacheable(key = "#id", unless = "#result == null")
     public User getUserById(Long id) {
+        if (!userIdBloomFilter.mightContain(String.valueOf(id))) {
+            return null;
+        }
+        Cache cache = cacheManager.getCache("user");
+        return cache != null ? cache.get(id, () -> loadUserById(id)) : loadUserById(id);
+    }
+    
+    /**
+     * 缓存未命中时回源，空值缓存命中的ID不会回源
+     */
+    private User loadUserById(Long id) {
+        String missKey = MISS_KEY_PREFIX + id;
+        if (negativeTtl > 0 && Boolean.TRUE.equals(redisTemplate.hasKey(missKey))) {
+            return null;
+        }
         log.info("从数据库查询用户信息，ID: {}", id);
         // 模拟数据库查询延迟
         try {
@@ -44,23 +136,27 @@ public class UserCacheService {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
-        return userDatabase.get(id);
+        User user = userDatabase.get(id);
+        if (user == null && negativeTtl > 0) {
+            redisTemplate.opsForValue().set(missKey, Boolean.TRUE, negativeTtl, TimeUnit.SECONDS);
+        }
+        return user;
     }
     
     /**
      * 根据用户名获取用户信息
-     * 使用复合key，支持多参数缓存
+     * 通过用户名索引找到ID，再复用按ID的用户缓存
      * 
      * @param username 用户名
      * @return 用户信息
      */
-    @Cacheable(key = "'username:' + #username", unless = "#result == null")
     public User getUserByUsername(String username) {
-        log.info("从数据库根据用户名查询用户信息: {}", username);
-        return userDatabase.values().stream()
-                .filter(user -> username.equals(user.getUsername()))
-                .findFirst()
-                .orElse(null);
+        Object id = stringRedisTemplate.opsForHash().get(USERNAME_INDEX_KEY, username);
+        if (id == null) {
+            return null;
+        }
+        List<User> users = loadUsers(Collections.singletonList(Long.valueOf(id.toString())));
+        return users.isEmpty() ? null : users.get(0);
     }
     
     /**
@@ -70,14 +166,18 @@ public class UserCacheService {
      * @param user 用户信息
      * @return 创建的用户
      */
-    @CachePut(key = "#result.id")
+    @Caching(put = @CachePut(key = "#result.id"),
+             evict = @CacheEvict(value = "userList", allEntries = true))
     public User createUser(User user) {
         Long id = idGenerator.getAndIncrement();
         user.setId(id);
-        user.setCreatedAt(LocalDateTime.now());
-        user.setUpdatedAt(LocalDateTime.now());
-        
+        user.setCreateTime(LocalDateTime.now());
+        user.setUpdateTime(LocalDateTime.now());
+    
         userDatabase.put(id, user);
+        saveIndex(null, user);
+        userIdBloomFilter.put(String.valueOf(id));
+        redisTemplate.delete(MISS_KEY_PREFIX + id);
         log.info("创建用户成功，ID: {}, 用户名: {}", id, user.getUsername());
         return user;
     }
@@ -89,14 +189,15 @@ public class UserCacheService {
      * @param user 用户信息
      * @return 更新后的用户
      */
-    @CachePut(key = "#user.id")
-    @CacheEvict(key = "'username:' + #user.username", beforeInvocation = true)
+    @Caching(put = @CachePut(key = "#user.id", unless = "#result == null"),
+             evict = @CacheEvict(value = "userList", allEntries = true))
     public User updateUser(User user) {
         User existingUser = userDatabase.get(user.getId());
         if (existingUser != null) {
-            user.setCreatedAt(existingUser.getCreatedAt());
-            user.setUpdatedAt(LocalDateTime.now());
+            user.setCreateTime(existingUser.getCreateTime());
+            user.setUpdateTime(LocalDateTime.now());
             userDatabase.put(user.getId(), user);
+            saveIndex(existingUser.getUsername(), user);
             log.info("更新用户成功，ID: {}", user.getId());
             return user;
         }
@@ -110,13 +211,12 @@ public class UserCacheService {
      * @param id 用户ID
      * @return 是否删除成功
      */
-    @CacheEvict(key = "#id")
+    @Caching(evict = {@CacheEvict(key = "#id"),
+                      @CacheEvict(value = "userList", allEntries = true)})
     public boolean deleteUser(Long id) {
-        User user = userDatabase.get(id);
+        User user = userDatabase.remove(id);
         if (user != null) {
-            // 同时删除用户名缓存
-            evictUsernameCache(user.getUsername());
-            userDatabase.remove(id);
+            stringRedisTemplate.execute(REMOVE_INDEX_SCRIPT, INDEX_KEYS, nullToEmpty(user.getUsername()), String.valueOf(id));
             log.info("删除用户成功，ID: {}", id);
             return true;
         }
@@ -125,202 +225,196 @@ public class UserCacheService {
     
     /**
      * 获取所有用户 - 缓存用户列表
+     * 从ID索引取出全部ID后批量读取，用户写入时清除列表缓存
      * 
      * @return 用户列表
      */
-    @Cacheable(value = "userList", key = "'all'")
+    @Cacheable(value = "userList", key = "'all'", sync = true)
     public List<User> getAllUsers() {
-        log.info("从数据源获取所有用户列表");
-        // 实际项目中这里会调用数据库查询
-        // return userRepository.findAll();
-        
-        // 模拟从数据库获取所有用户
-        List<User> users = new ArrayList<>();
-        Set<String> keys = redisTemplate.keys("user:*");
-        if (keys != null) {
-            for (String key : keys) {
-                Object userData = redisTemplate.opsForValue().get(key);
-                if (userData instanceof User) {
-                    users.add((User) userData);
-                }
-            }
-        }
-        return users;
+        log.info("从用户索引获取所有用户列表");
+        return loadUsers(rangeIds(0, -1));
     }
     
     /**
-     * 根据用户名获取用户 - 复合key缓存
+     * 分页获取用户，按ID升序，只读取当前页
      * 
-     * @param username 用户名
-     * @return 用户信息
+     * @param pageNum 页码，从1开始
+     * @param pageSize 每页数量，不超过{@link RedisScanUtil#MAX_PAGE_SIZE}
+     * @return 用户列表
      */
-    @Cacheable(value = "usersByUsername", key = "#username")
-    public User getUserByUsername(String username) {
-        log.info("根据用户名查询用户: {}", username);
-        // 实际项目中这里会调用数据库查询
-        // return userRepository.findByUsername(username);
-        
-        // 模拟根据用户名查询
-        Set<String> keys = redisTemplate.keys("user:*");
-        if (keys != null) {
-            for (String key : keys) {
-                Object userData = redisTemplate.opsForValue().get(key);
-                if (userData instanceof User) {
-                    User user = (User) userData;
-                    if (username.equals(user.getUsername())) {
-                        return user;
-                    }
-                }
-            }
+    public List<User> getUsers(int pageNum, int pageSize) {
+        // pageSize小于1时ZRANGE的结束下标为负数，会返回整个索引
+        if (pageNum < 1 || pageSize < 1) {
+            throw new IllegalArgumentException("页码和每页数量必须大于0");
         }
-        return null;
+        int size = Math.min(pageSize, RedisScanUtil.MAX_PAGE_SIZE);
+        long start = (long) (pageNum - 1) * size;
+        return loadUsers(rangeIds(start, start + size - 1));
     }
     
     /**
      * 批量获取用户 - 利用单个缓存
+     * 未命中的用户批量回填到缓存
      * 
      * @param ids 用户ID列表
      * @return 用户列表
      */
     public List<User> getUsersByIds(List<Long> ids) {
         log.info("批量获取用户，数量: {}", ids.size());
-        List<User> users = new ArrayList<>();
-        
-        // 利用单个用户的缓存，避免重复查询
-        for (Long id : ids) {
-            User user = getUserById(id); // 这里会利用@Cacheable缓存
-            if (user != null) {
-                users.add(user);
-            }
-        }
-        return users;
+        return loadUsers(ids);
     }
     
     /**
-     * 获取用户统计 - 长期缓存
+     * 获取用户统计
+     * 直接读取随写入维护的计数器，与读取缓存同样只需一次GET
      * 
      * @return 用户总数
      */
-    @Cacheable(value = "userStats", key = "'count'")
     public long getUserCount() {
-        log.info("统计用户总数");
-        // 实际项目中这里会调用数据库统计
-        // return userRepository.count();
-        
-        // 模拟统计用户数量
-        Set<String> keys = redisTemplate.keys("user:*");
-        return keys != null ? keys.size() : 0;
+        String count = stringRedisTemplate.opsForValue().get(COUNT_KEY);
+        return count != null ? Long.parseLong(count) : 0;
     }
     
     /**
-     * 清除所有缓存
+     * 清除所有用户缓存
+     * @CacheEvict: allEntries=true 清除该缓存空间的所有数据
      */
-    @CacheEvict(value = {"users", "userList", "usersByUsername", "userStats"}, allEntries = true)
+    @CacheEvict(value = {"user", "userList"}, allEntries = true)
     public void clearAllCache() {
-        log.info("清除所有用户相关缓存");
+        log.info("清除所有用户缓存");
     }
     
     /**
-     * 缓存预热 - 提前加载热点数据
+     * 预热缓存 - 在应用启动时调用
+     * 按数据库重建索引和布隆过滤器，再由缓存预热按ID从数据库分块读取，并行序列化、限速写入缓存中缺失的用户
      */
     public void warmUpCache() {
-        log.info("开始缓存预热");
-        
-        // 预热用户列表缓存
-        getAllUsers();
-        
-        // 预热用户统计缓存
-        getUserCount();
-        
-        // 可以根据业务需要预热更多数据
-        log.info("缓存预热完成");
+        log.info("开始预热用户缓存");
+        rebuildIndex();
+        // 重建布隆过滤器，清理已删除用户的ID，重建期间新增的ID由布隆过滤器补回
+        userIdBloomFilter.rebuild(() -> userDatabase.keySet().stream().map(String::valueOf).toList());
+        CacheWarmUpProgress progress = cacheWarmUpService.warmUp(UserCacheWarmUpSource.NAME);
+        if (progress.getStatus() == CacheWarmUpProgress.Status.FAILED) {
+            throw new IllegalStateException("用户缓存预热失败: " + progress.getError());
+        }
+        log.info("用户缓存预热完成，写入: {}, 已存在跳过: {}", progress.getWritten(), progress.getSkipped());
     }
     
     /**
-     * 根据用户名删除缓存
+     * 按ID升序从数据库读取lastId之后的用户，供缓存预热分块读取
+     * 不依赖Redis中的ID索引，Redis数据被清空后仍能预热
      * 
-     * @param username 用户名
+     * @param lastId 上一块最后一个用户的ID，第一块为null
+     * @param size 最多读取的数量
+     * @return 用户列表
      */
-    @CacheEvict(key = "'username:' + #username")
-    public void evictUsernameCache(String username) {
-        log.info("清除用户名缓存: {}", username);
+    public List<User> getUsersAfter(Long lastId, int size) {
+        Map<Long, User> users = lastId != null ? userDatabase.tailMap(lastId, false) : userDatabase;
+        return users.values().stream().limit(size).toList();
     }
     
     /**
-     * 获取用户列表
-     * 使用条件缓存，只有当列表不为空时才缓存
+     * 数据库中的用户数，供缓存预热计算进度
      * 
-     * @return 用户列表
+     * @return 用户总数
      */
-    @Cacheable(key = "'userList'", unless = "#result.isEmpty()")
-    public List<User> getAllUsers() {
-        log.info("从数据库查询所有用户列表");
-        // 模拟数据库查询延迟
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        return new ArrayList<>(userDatabase.values());
+    public long getDatabaseUserCount() {
+        return userDatabase.size();
     }
     
     /**
-     * 清除所有用户缓存
-     * @CacheEvict: allEntries=true 清除该缓存空间的所有数据
+     * 在一个事务中按数据库全量重建用户索引
      */
-    @CacheEvict(allEntries = true)
-    public void clearAllCache() {
-        log.info("清除所有用户缓存");
+    private void rebuildIndex() {
+        Map<String, String> usernames = new HashMap<>();
+        Set<ZSetOperations.TypedTuple<String>> ids = new HashSet<>();
+        userDatabase.values().forEach(user -> {
+            if (user.getUsername() != null) {
+                usernames.put(user.getUsername(), String.valueOf(user.getId()));
+            }
+            ids.add(ZSetOperations.TypedTuple.of(String.valueOf(user.getId()), user.getId().doubleValue()));
+        });
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> redisOperations) {
+                RedisOperations<String, String> operations = (RedisOperations<String, String>) redisOperations;
+                operations.multi();
+                operations.delete(INDEX_KEYS);
+                if (!usernames.isEmpty()) {
+                    operations.opsForHash().putAll(USERNAME_INDEX_KEY, usernames);
+                }
+                if (!ids.isEmpty()) {
+                    operations.opsForZSet().add(ID_INDEX_KEY, ids);
+                }
+                operations.opsForValue().set(COUNT_KEY, String.valueOf(ids.size()));
+                return operations.exec();
+            }
+        });
+        log.info("用户索引重建完成，用户数: {}", ids.size());
+    }
+    
+    private void saveIndex(String oldUsername, User user) {
+        stringRedisTemplate.execute(SAVE_INDEX_SCRIPT, INDEX_KEYS,
+                nullToEmpty(oldUsername), nullToEmpty(user.getUsername()), String.valueOf(user.getId()));
+    }
+    
+    private List<Long> rangeIds(long start, long end) {
+        Set<String> ids = stringRedisTemplate.opsForZSet().range(ID_INDEX_KEY, start, end);
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return ids.stream().map(Long::valueOf).toList();
     }
     
     /**
-     * 批量获取用户信息
-     * 展示复杂的缓存逻辑处理
-     * 
-     * @param ids 用户ID列表
-     * @return 用户列表
+     * 批量MGET读取用户缓存，未命中的再查数据库，并通过pipeline批量回填缓存
      */
-    public List<User> getUsersByIds(List<Long> ids) {
-        List<User> users = new ArrayList<>();
-        for (Long id : ids) {
-            User user = getUserById(id); // 这里会利用单个用户的缓存
+    private List<User> loadUsers(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> keys = ids.stream().map(id -> USER_CACHE_KEY_PREFIX + id).toList();
+        List<Object> cached = userBulkService.getAll(keys);
+        List<User> users = new ArrayList<>(ids.size());
+        List<User> missed = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object value = cached.get(i);
+            if (value instanceof CacheEnvelope envelope) {
+                value = envelope.getValue();
+            }
+            User user = value instanceof User ? (User) value : null;
+            if (user == null) {
+                user = userDatabase.get(ids.get(i));
+                if (user != null) {
+                    missed.add(user);
+                }
+            }
             if (user != null) {
                 users.add(user);
             }
         }
+        fillCache(missed);
         return users;
     }
     
     /**
-     * 获取用户统计信息
-     * 使用自定义缓存key和较长的过期时间
-     * 
-     * @return 用户总数
+     * 按用户缓存的格式和过期时间批量写入，缓存未使用防击穿实现时跳过
      */
-    @Cacheable(key = "'userCount'", cacheNames = "statistics")
-    public long getUserCount() {
-        log.info("统计用户总数");
-        return userDatabase.size();
-    }
-    
-    /**
-     * 刷新用户统计缓存
-     */
-    @CacheEvict(key = "'userCount'", cacheNames = "statistics")
-    public void refreshUserCount() {
-        log.info("刷新用户统计缓存");
+    private void fillCache(List<User> users) {
+        Cache cache = cacheManager.getCache("user");
+        if (users.isEmpty() || !(cache instanceof StampedeProtectedCache protectedCache)) {
+            return;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (User user : users) {
+            values.put(USER_CACHE_KEY_PREFIX + user.getId(), protectedCache.envelope(user.getId(), user));
+        }
+        User first = users.get(0);
+        userBulkService.setAll(values, protectedCache.getTtl(first.getId(), first).getSeconds());
     }
     
-    /**
-     * 预热缓存 - 在应用启动时调用
-     * 将热点数据提前加载到缓存中
-     */
-    public void warmUpCache() {
-        log.info("开始预热用户缓存");
-        // 预加载前10个用户到缓存
-        userDatabase.keySet().stream()
-                .limit(10)
-                .forEach(this::getUserById);
-        log.info("用户缓存预热完成");
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
     }
 }
\ No newline at end of file
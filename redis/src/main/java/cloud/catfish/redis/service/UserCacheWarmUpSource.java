@@ -0,0 +1,73 @@
+package cloud.catfish.redis.service;
+
+import cloud.catfish.common.redis.CacheWarmUpSource;
+import cloud.catfish.redis.cache.StampedeProtectedCache;
+import cloud.catfish.redis.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 用户缓存预热数据源
+ * 按ID从数据库分块读取用户，写入的格式和过期时间与@Cacheable写入的用户缓存一致
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheWarmUpSource implements CacheWarmUpSource<User> {
+
+    public static final String NAME = "user";
+
+    // 用户缓存在RedisCache中的key前缀，与cacheNames一致
+    private static final String USER_CACHE_KEY_PREFIX = "user::";
+
+    private final UserCacheService userCacheService;
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public long count() {
+        return userCacheService.getDatabaseUserCount();
+    }
+
+    @Override
+    public List<User> nextChunk(User last, int size) {
+        return userCacheService.getUsersAfter(last != null ? last.getId() : null, size);
+    }
+
+    @Override
+    public String getKey(User user) {
+        return USER_CACHE_KEY_PREFIX + user.getId();
+    }
+
+    @Override
+    public Object getValue(User user) {
+        Cache cache = cacheManager.getCache("user");
+        return cache instanceof StampedeProtectedCache protectedCache ? protectedCache.envelope(user.getId(), user) : user;
+    }
+
+    @Override
+    public Duration getTtl() {
+        // 用户缓存使用固定的过期时间，与具体的key和值无关
+        Cache cache = cacheManager.getCache("user");
+        if (cache instanceof StampedeProtectedCache protectedCache) {
+            return protectedCache.getTtl(null, null);
+        }
+        if (cache instanceof RedisCache redisCache) {
+            return redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(null, null);
+        }
+        return Duration.ZERO;
+    }
+}
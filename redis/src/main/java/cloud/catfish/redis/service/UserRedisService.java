@@ -1,23 +1,37 @@
 package cloud.catfish.redis.service;
 
+import cloud.catfish.redis.cache.RedisBloomFilter;
 import cloud.catfish.redis.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 用户Redis服务类
  * 提供用户数据的Redis缓存操作
+ * 布隆过滤器在启动后按users:list重建，之后每隔rebuild-interval重建一次以清理已删除的ID，
+ * 首次重建完成前不使用布隆过滤器拦截读取
  * 
  * @author catfish
  * @since 1.0.0
  */
+@Slf4j
 @Service
-public class UserRedisService {
+public class UserRedisService implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
     
     private static final String USER_KEY_PREFIX = "user:";
     private static final String USER_LIST_KEY = "users:list";
@@ -26,6 +40,35 @@ public class UserRedisService {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
     
+    @Autowired
+    private RedisBloomFilter redisUserIdBloomFilter;
+
+    /**
+     * 布隆过滤器的重建间隔
+     */
+    @Value("${redis.bloom.user.rebuild-interval:1h}")
+    private Duration bloomRebuildInterval;
+
+    private final ScheduledExecutorService bloomRebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "redis-user-bloom-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 首次重建完成后才用布隆过滤器拦截读取
+    private volatile boolean bloomReady;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long interval = Math.max(bloomRebuildInterval.toMillis(), 1000);
+        bloomRebuilder.scheduleWithFixedDelay(this::rebuildBloomFilterQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        bloomRebuilder.shutdownNow();
+    }
+    
     /**
      * 保存用户
      * 
@@ -44,6 +87,7 @@ public class UserRedisService {
         
         // 添加到用户列表
         redisTemplate.opsForSet().add(USER_LIST_KEY, user.getId().toString());
+        redisUserIdBloomFilter.put(user.getId().toString());
         
         return user;
     }
@@ -55,6 +99,10 @@ public class UserRedisService {
      * @return 用户对象，不存在返回null
      */
     public User getUserById(Long id) {
+        // 布隆过滤器判断不存在的ID直接返回
+        if (bloomReady && !redisUserIdBloomFilter.mightContain(id.toString())) {
+            return null;
+        }
         String key = USER_KEY_PREFIX + id;
         Object obj = redisTemplate.opsForValue().get(key);
         return obj != null ? (User) obj : null;
@@ -95,11 +143,26 @@ public class UserRedisService {
         String key = USER_KEY_PREFIX + id;
         Boolean deleted = redisTemplate.delete(key);
         
-        // 从用户列表中移除
+        // 从用户列表中移除，布隆过滤器不支持删除，由定期重建清理
         redisTemplate.opsForSet().remove(USER_LIST_KEY, id.toString());
         
         return Boolean.TRUE.equals(deleted);
     }
+
+    /**
+     * 按users:list重建布隆过滤器
+     * 重建期间其他节点新增的ID可能不在快照中，由布隆过滤器在重建后补回
+     */
+    public void rebuildBloomFilter() {
+        redisUserIdBloomFilter.rebuild(() -> {
+            List<String> ids = new ArrayList<>();
+            try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(USER_LIST_KEY, ScanOptions.scanOptions().count(1000).build())) {
+                cursor.forEachRemaining(id -> ids.add(id.toString()));
+            }
+            return ids;
+        });
+        bloomReady = true;
+    }
     
     /**
      * 获取所有用户
@@ -147,6 +210,14 @@ public class UserRedisService {
         return Boolean.TRUE.equals(redisTemplate.expire(key, timeout, TimeUnit.SECONDS));
     }
     
+    private void rebuildBloomFilterQuietly() {
+        try {
+            rebuildBloomFilter();
+        } catch (Exception e) {
+            log.warn("用户布隆过滤器重建失败，下次定时重建时重试", e);
+        }
+    }
+
     /**
      * 生成用户ID
      * 
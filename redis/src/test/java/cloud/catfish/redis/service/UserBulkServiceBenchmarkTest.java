@@ -0,0 +1,141 @@
+package cloud.catfish.redis.service;
+
+import cloud.catfish.common.config.BaseRedisConfig;
+import cloud.catfish.common.redis.RedisSerializerProperties;
+import cloud.catfish.redis.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 批量读写吞吐量，1万和10万用户，并与逐条读写对比
+ * 标记为benchmark，默认不执行，使用-Pbenchmark执行。需要真实的Redis，地址通过-Dredis.host和-Dredis.port指定，
+ * 连接不上时跳过；吞吐量只输出结果，不作断言
+ *
+ * @author catfish
+ * @since 1.0.0
+ */
+@Slf4j
+@Tag("benchmark")
+class UserBulkServiceBenchmarkTest {
+
+    private static final String KEY_PREFIX = "bench:user:";
+
+    private static final long EXPIRE_SECONDS = 600;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+    private static UserBulkService userBulkService;
+
+    private final List<String> writtenKeys = new ArrayList<>();
+
+    @BeforeAll
+    static void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"), Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        //与应用使用相同的值序列化器
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(StringRedisSerializer.UTF_8);
+        redisTemplate.setValueSerializer(new BaseRedisConfig().redisSerializer(new RedisSerializerProperties()));
+        redisTemplate.afterPropertiesSet();
+        userBulkService = new UserBulkService(redisTemplate);
+        boolean available;
+        try {
+            available = "PONG".equals(redisTemplate.execute((RedisCallback<String>) RedisConnection::ping));
+        } catch (Exception e) {
+            available = false;
+        }
+        assumeTrue(available, "Redis不可用，跳过");
+    }
+
+    @AfterAll
+    static void close() {
+        connectionFactory.destroy();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (int from = 0; from < writtenKeys.size(); from += 1000) {
+            redisTemplate.delete(writtenKeys.subList(from, Math.min(from + 1000, writtenKeys.size())));
+        }
+        writtenKeys.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000})
+    void bulkThroughput(int count) {
+        Map<String, User> values = users(count);
+        writtenKeys.addAll(values.keySet());
+        List<String> keys = new ArrayList<>(values.keySet());
+
+        long start = System.nanoTime();
+        userBulkService.setAll(values, EXPIRE_SECONDS);
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Object> results = userBulkService.getAll(keys);
+        long readNanos = System.nanoTime() - start;
+
+        assertEquals(count, results.size());
+        assertEquals(values.get(keys.get(count - 1)), results.get(count - 1));
+        print("bulk", count, writeNanos, readNanos);
+    }
+
+    @Test
+    void perKeyThroughput() {
+        int count = 10_000;
+        Map<String, User> values = users(count);
+        writtenKeys.addAll(values.keySet());
+
+        long start = System.nanoTime();
+        values.forEach((key, user) -> redisTemplate.opsForValue().set(key, user, Duration.ofSeconds(EXPIRE_SECONDS)));
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (String key : values.keySet()) {
+            redisTemplate.opsForValue().get(key);
+        }
+        long readNanos = System.nanoTime() - start;
+        print("per-key", count, writeNanos, readNanos);
+    }
+
+    private static void print(String mode, int count, long writeNanos, long readNanos) {
+        log.info("{} {} users: write={} ms ({} ops/s), read={} ms ({} ops/s)", mode, count,
+                writeNanos / 1_000_000, count * 1_000_000_000L / writeNanos,
+                readNanos / 1_000_000, count * 1_000_000_000L / readNanos);
+    }
+
+    private static Map<String, User> users(int count) {
+        LocalDateTime time = LocalDateTime.of(2026, 10, 19, 12, 0);
+        Map<String, User> users = new LinkedHashMap<>(count * 2);
+        for (long id = 1; id <= count; id++) {
+            users.put(KEY_PREFIX + id, new User(id, "user" + id, "user" + id + "@catfish.cloud",
+                    (int) (18 + id % 50), time, time));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,64 @@
+-- ----------------------------
+-- 按create_time分区的时序表，配合data.processing.data-clean.partitioned-tables使用
+-- 分区键必须包含在所有唯一索引中，主键改为(id, create_time)，create_time不能为空
+-- 历史分区之后按月建到当前月份再加future-partitions（3）个月，pmax中不应有数据，
+-- 之后由dataCleanJob从空的pmax中拆分预建分区并删除过期分区。
+-- 分区按2026年10月执行编写，在之后的月份执行时需要按月补充到执行月份再加3个月，否则首次拆分pmax会复制其中的数据
+-- 大表转换会重建整张表，需要在低峰期执行
+-- ----------------------------
+
+UPDATE `ums_admin_login_log` SET `create_time` = '1970-01-02 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `ums_admin_login_log`
+  MODIFY COLUMN `create_time` datetime NOT NULL,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+ALTER TABLE `ums_admin_login_log` PARTITION BY RANGE COLUMNS(`create_time`) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-01'),
+  PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+  PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+  PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+  PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+  PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+UPDATE `ums_member_login_log` SET `create_time` = '1970-01-02 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `ums_member_login_log`
+  MODIFY COLUMN `create_time` datetime NOT NULL,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+ALTER TABLE `ums_member_login_log` PARTITION BY RANGE COLUMNS(`create_time`) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-01'),
+  PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+  PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+  PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+  PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+  PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+UPDATE `ums_growth_change_history` SET `create_time` = '1970-01-02 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `ums_growth_change_history`
+  MODIFY COLUMN `create_time` datetime NOT NULL,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+ALTER TABLE `ums_growth_change_history` PARTITION BY RANGE COLUMNS(`create_time`) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-01'),
+  PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+  PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+  PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+  PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+  PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+UPDATE `ums_integration_change_history` SET `create_time` = '1970-01-02 00:00:00' WHERE `create_time` IS NULL;
+ALTER TABLE `ums_integration_change_history`
+  MODIFY COLUMN `create_time` datetime NOT NULL,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`id`, `create_time`) USING BTREE;
+ALTER TABLE `ums_integration_change_history` PARTITION BY RANGE COLUMNS(`create_time`) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-01'),
+  PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+  PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+  PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+  PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+  PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);